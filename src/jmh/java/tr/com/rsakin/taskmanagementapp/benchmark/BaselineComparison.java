@@ -0,0 +1,101 @@
+package tr.com.rsakin.taskmanagementapp.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+// Compares a JMH result file (-rf json) with the committed baseline, benchmark by benchmark.
+// Time and allocation per operation are printed side by side. Allocation is stable across machines, so a
+// benchmark allocating more than maxAllocationRegression over its baseline fails the build; time depends on
+// the machine and is only reported.
+//   args: <baseline.json> <result.json> <maxAllocationRegression>
+// To accept the current numbers, copy the result file over the baseline and commit it.
+public final class BaselineComparison {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    // Smaller differences are profiler noise, e.g. on benchmarks that allocate nothing
+    private static final double MIN_ALLOCATION_DIFFERENCE = 16;
+
+    private record Result(double score, String unit, double bytesPerOperation) {
+    }
+
+    private BaselineComparison() {}
+
+    public static void main(String[] args) throws IOException {
+        Path baselineFile = Path.of(args[0]);
+        Path resultFile = Path.of(args[1]);
+        double maxAllocationRegression = Double.parseDouble(args[2]);
+        if (!Files.exists(baselineFile)) {
+            System.out.printf("No baseline at %s, copy %s there to create one%n", baselineFile, resultFile);
+            return;
+        }
+
+        Map<String, Result> baseline = read(baselineFile);
+        Map<String, Result> current = read(resultFile);
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%-60s %18s %18s %8s %12s %12s %8s%n",
+                "Benchmark", "Baseline", "Current", "Change", "Base B/op", "B/op", "Change");
+        current.forEach((name, result) -> {
+            Result base = baseline.get(name);
+            if (base == null) {
+                System.out.printf("%-60s %18s %18s %8s %12s %12.0f%n",
+                        name, "-", format(result), "new", "-", result.bytesPerOperation());
+                return;
+            }
+            System.out.printf("%-60s %18s %18s %8s %12.0f %12.0f %8s%n",
+                    name, format(base), format(result), change(base.score(), result.score()),
+                    base.bytesPerOperation(), result.bytesPerOperation(),
+                    change(base.bytesPerOperation(), result.bytesPerOperation()));
+            double growth = result.bytesPerOperation() - base.bytesPerOperation();
+            if (growth > MIN_ALLOCATION_DIFFERENCE && growth > base.bytesPerOperation() * maxAllocationRegression) {
+                regressions.add("%s (%.0f -> %.0f B/op)".formatted(
+                        name, base.bytesPerOperation(), result.bytesPerOperation()));
+            }
+        });
+
+        if (!regressions.isEmpty()) {
+            throw new IllegalStateException("Allocation per operation regressed over the baseline: "
+                    + String.join(", ", regressions));
+        }
+    }
+
+    // Keyed by benchmark class, method and parameters, e.g. TaskMappingBenchmark.manualToDTO(size=100)
+    private static Map<String, Result> read(Path file) throws IOException {
+        Map<String, Result> results = new TreeMap<>();
+        for (JsonNode benchmark : new ObjectMapper().readTree(file.toFile())) {
+            String name = benchmark.path("benchmark").asText();
+            name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+            JsonNode params = benchmark.path("params");
+            if (!params.isMissingNode()) {
+                name += params.properties().stream()
+                        .map(param -> param.getKey() + "=" + param.getValue().asText())
+                        .collect(Collectors.joining(",", "(", ")"));
+            }
+            JsonNode primary = benchmark.path("primaryMetric");
+            results.put(name, new Result(
+                    primary.path("score").asDouble(),
+                    primary.path("scoreUnit").asText(),
+                    benchmark.path("secondaryMetrics").path(ALLOCATION_METRIC).path("score").asDouble()));
+        }
+        return results;
+    }
+
+    private static String format(Result result) {
+        return "%.3f %s".formatted(result.score(), result.unit());
+    }
+
+    private static String change(double baseline, double current) {
+        if (baseline == 0) {
+            return current == 0 ? "0%" : "n/a";
+        }
+        return "%+.0f%%".formatted((current - baseline) / baseline * 100);
+    }
+}
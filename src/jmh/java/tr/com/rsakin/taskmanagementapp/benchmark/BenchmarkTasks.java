@@ -0,0 +1,32 @@
+package tr.com.rsakin.taskmanagementapp.benchmark;
+
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Task fixtures shared by the benchmarks: the same tasks on every run, statuses spread evenly
+final class BenchmarkTasks {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private BenchmarkTasks() {}
+
+    static List<Task> tasks(int count) {
+        Task.TaskStatus[] statuses = Task.TaskStatus.values();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(Task.builder()
+                    .id(new UUID(0, i))
+                    .title("Task " + i)
+                    .description("Description of task " + i + " with a few more words in it")
+                    .createdAt(CREATED_AT.plusMinutes(i))
+                    .updatedAt(CREATED_AT.plusMinutes(i))
+                    .build()
+                    .updateStatus(statuses[i % statuses.length]));
+        }
+        return tasks;
+    }
+}
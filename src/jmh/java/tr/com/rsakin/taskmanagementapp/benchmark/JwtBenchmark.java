@@ -0,0 +1,47 @@
+package tr.com.rsakin.taskmanagementapp.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import tr.com.rsakin.taskmanagementapp.security.JwtUtil;
+
+import java.util.concurrent.TimeUnit;
+
+// Token issuing on login and the per-request checks. A token seen before is served from the verified-claims
+// cache, which is what every request but the first one with a token takes.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private final UserDetails user = User.withUsername("user").password("ignored").roles("USER").build();
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(new SimpleMeterRegistry());
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token, user);
+    }
+
+}
@@ -0,0 +1,55 @@
+package tr.com.rsakin.taskmanagementapp.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskResponseDTO;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+import tr.com.rsakin.taskmanagementapp.repository.TaskRepository;
+import tr.com.rsakin.taskmanagementapp.service.TaskService;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// The service's in-memory stream pipelines over the whole table: grouping tasks by status,
+// and the report that runs countTasksByStatus once per status.
+// The repository is a stub that hands out the same loaded list, so only the pipelines are measured.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskAggregationBenchmark {
+
+    @Param({"1000"})
+    private int size;
+
+    private TaskService taskService;
+
+    @Setup
+    public void setUp() {
+        List<Task> tasks = BenchmarkTasks.tasks(size);
+        TaskRepository taskRepository = (TaskRepository) Proxy.newProxyInstance(
+                TaskRepository.class.getClassLoader(),
+                new Class<?>[]{TaskRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAll") && method.getParameterCount() == 0) {
+                        return tasks;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        taskService = new TaskService(taskRepository, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public Map<Task.TaskStatus, List<TaskResponseDTO>> groupTasksByStatus() {
+        return taskService.groupTasksByStatus();
+    }
+
+    @Benchmark
+    public String countTasksByStatus() {
+        return taskService.generateTaskReport();
+    }
+
+}
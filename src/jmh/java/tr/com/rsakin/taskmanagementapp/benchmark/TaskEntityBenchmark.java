@@ -0,0 +1,40 @@
+package tr.com.rsakin.taskmanagementapp.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Per-task calls made for every row the API returns or changes: the priority lookup (once per status,
+// from the stored value to a shared instance, so no allocation) and the copy-on-write status update
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskEntityBenchmark {
+
+    // One task in each status
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        tasks = BenchmarkTasks.tasks(Task.TaskStatus.values().length);
+    }
+
+    @Benchmark
+    public void getPriority(Blackhole blackhole) {
+        for (Task task : tasks) {
+            blackhole.consume(task.getPriority());
+        }
+    }
+
+    @Benchmark
+    public Task updateStatus() {
+        return tasks.getFirst().updateStatus(Task.TaskStatus.IN_PROGRESS);
+    }
+
+}
@@ -0,0 +1,54 @@
+package tr.com.rsakin.taskmanagementapp.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskResponseDTO;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+import tr.com.rsakin.taskmanagementapp.model.mapper.ManualTaskMapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Response bodies of a task list and of /group-by-status: Jackson writing TaskResponseDTOs (through
+// TaskResponseDTOSerializer) with the ObjectMapper settings Spring Boot uses for the HTTP message converters
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskJsonBenchmark {
+
+    @Param({"100"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<TaskResponseDTO> tasks;
+    private Map<Task.TaskStatus, List<TaskResponseDTO>> groupedTasks;
+
+    @Setup
+    public void setUp() {
+        // Spring Boot writes dates as ISO-8601 text
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        tasks = BenchmarkTasks.tasks(size).stream().map(ManualTaskMapper::toDTO).toList();
+        groupedTasks = tasks.stream().collect(Collectors.groupingBy(TaskResponseDTO::status));
+    }
+
+    @Benchmark
+    public byte[] writeTaskList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] writeGroupedTasks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(groupedTasks);
+    }
+
+}
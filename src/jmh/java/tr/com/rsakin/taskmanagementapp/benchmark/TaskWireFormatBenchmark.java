@@ -0,0 +1,97 @@
+package tr.com.rsakin.taskmanagementapp.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskResponseDTO;
+import tr.com.rsakin.taskmanagementapp.model.mapper.ManualTaskMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// A page of tasks in each response format the API negotiates (JSON, CBOR, Smile), plain and gzipped as sent
+// when it exceeds server.compression.min-response-size: the CPU to encode it on the server and to decode it
+// (into a tree, as a generic client would) on the other end.
+// Bytes on the wire do not vary between runs; they are printed once per format when the benchmark starts.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskWireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"100"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<TaskResponseDTO> tasks;
+    private byte[] encoded;
+    private byte[] gzipped;
+
+    @Setup
+    public void setUp() {
+        JsonFactory factory = switch (format) {
+            case "json" -> new JsonFactory();
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        // Spring Boot's settings, as in WireFormatConfig
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        tasks = BenchmarkTasks.tasks(size).stream().map(ManualTaskMapper::toDTO).toList();
+        encoded = encode();
+        gzipped = encodeGzipped();
+        System.out.printf("%n%s, %d tasks: %d bytes, %d gzipped%n", format, size, encoded.length, gzipped.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        try {
+            return objectMapper.writeValueAsBytes(tasks);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Benchmark
+    public byte[] encodeGzipped() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, tasks);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public JsonNode decode() throws IOException {
+        return objectMapper.readTree(encoded);
+    }
+
+    @Benchmark
+    public JsonNode decodeGzipped() throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return objectMapper.readTree(gzip);
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package tr.com.rsakin.taskmanagementapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+import java.time.Duration;
+
+// JDBC side of the persistence setup, next to R2DBC for the reactive API.
+// Spring Boot does not auto-configure a JDBC DataSource once an R2DBC ConnectionFactory exists,
+// so the Hikari pool is declared here from the usual spring.datasource.* properties.
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    // In virtual thread mode (spring.threads.virtual.enabled) request threads are no longer capped by Tomcat,
+    // so connection borrowing is gated by a semaphore with as many permits as the pool has connections.
+    // Wrapped after initialization, so the Hikari pool is already bound to spring.datasource.hikari.*
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public static BeanPostProcessor connectionGatePostProcessor(Environment environment) {
+        Duration acquireTimeout = environment.getProperty(
+                "app.datasource.gate.acquire-timeout", Duration.class, Duration.ofSeconds(30));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikariDataSource) {
+                    return new ConnectionGateDataSource(
+                            hikariDataSource, hikariDataSource.getMaximumPoolSize(), acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Two transaction managers exist now (JPA and R2DBC); @Transactional on the blocking services means JPA
+    @Bean
+    @Primary
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+
+}
@@ -0,0 +1,142 @@
+package tr.com.rsakin.taskmanagementapp.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+// Makes server.compression.min-response-size apply to the API responses.
+// Tomcat only skips compressing a response whose length it knows when the response is committed, and it knows it
+// when the whole body is still in its buffer at the end of the request. The message converters flush the stream
+// after writing the body, and ResponseEntity handling flushes the buffer, which commits every response early as
+// chunked, so every response was compressed. Those flushes are ignored here: a small body stays buffered and gets
+// its Content-Length, a large one is sent as the buffer fills.
+// Only the negotiated task API responses (JSON, CBOR, Smile) are written whole by a converter, so only their flushes
+// are deferred. The export and the event streams flush on purpose and are not wrapped at all, and any other content
+// type written under /api/tasks keeps its flushes too.
+@Component
+class DeferredFlushFilter extends OncePerRequestFilter {
+
+    private static final String TASK_API_PATH = "/api/tasks";
+    private static final String EXPORT_PATH = TASK_API_PATH + "/export";
+    private static final List<MediaType> BUFFERED_TYPES = List.of(
+            MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR,
+            MediaType.valueOf(WireFormatConfig.APPLICATION_SMILE_VALUE));
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean taskApi = path.equals(TASK_API_PATH) || path.startsWith(TASK_API_PATH + "/");
+        return !taskApi || path.startsWith(EXPORT_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        chain.doFilter(request, new DeferredFlushResponse(response));
+    }
+
+    private static final class DeferredFlushResponse extends HttpServletResponseWrapper {
+
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        DeferredFlushResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new DeferredFlushOutputStream(super.getOutputStream(), this);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(super.getWriter()) {
+                    @Override
+                    public void flush() {
+                        if (!isBuffered(DeferredFlushResponse.this)) {
+                            super.flush();
+                        }
+                    }
+                };
+            }
+            return writer;
+        }
+
+        // Called after every ResponseEntity body is written
+        @Override
+        public void flushBuffer() throws IOException {
+            if (!isBuffered(this)) {
+                super.flushBuffer();
+            }
+        }
+    }
+
+    private static boolean isBuffered(HttpServletResponse response) {
+        String contentType = response.getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return BUFFERED_TYPES.stream().anyMatch(type -> type.isCompatibleWith(mediaType));
+    }
+
+    private static final class DeferredFlushOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final HttpServletResponse response;
+
+        DeferredFlushOutputStream(ServletOutputStream delegate, HttpServletResponse response) {
+            this.delegate = delegate;
+            this.response = response;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!isBuffered(response)) {
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+
+}
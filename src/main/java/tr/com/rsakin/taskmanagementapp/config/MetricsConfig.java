@@ -0,0 +1,37 @@
+package tr.com.rsakin.taskmanagementapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import tr.com.rsakin.taskmanagementapp.service.TaskService;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+// Metrics Spring Boot does not record by itself. Routes (http.server.requests), repository query methods
+// (spring.data.repository.invocations) and the Hikari pool (hikaricp.connections.*) are recorded by Boot;
+// their histograms are enabled under management.metrics.distribution in application.yml.
+@Configuration
+public class MetricsConfig {
+
+    // task.service.invocations{class, method, exception}: every public TaskService method
+    @Bean
+    public static Advisor taskServiceTimingAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return method.getDeclaringClass() == TaskService.class && Modifier.isPublic(method.getModifiers());
+            }
+        };
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new MethodTimingInterceptor(
+                "task.service.invocations", "Duration of TaskService method calls", meterRegistry));
+        // Outermost, around @Transactional: the commit is part of the time
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,77 @@
+package tr.com.rsakin.taskmanagementapp.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ObjectUtils;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+
+// Hibernate second-level cache: Task entities and the cacheable task list queries are kept in bounded
+// in-process Caffeine caches behind the JCache API.
+// The regions are created here, with their size and TTL bounds, and handed to Hibernate through its own
+// CacheManager, so a region Hibernate asks for but nobody sized fails startup instead of growing unbounded.
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    static final String QUERY_RESULTS_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    static final String UPDATE_TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+        // A manager of its own per application context (tests start several): region statistics are registered
+        // as MBeans named after the manager URI and the region
+        URI uri = URI.create("hibernate-second-level-cache-" + ObjectUtils.getIdentityHexString(this));
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager(uri, getClass().getClassLoader());
+        cacheManager.createCache(Task.CACHE_REGION, boundedRegion(properties.tasks()));
+        cacheManager.createCache(QUERY_RESULTS_REGION, boundedRegion(properties.taskQueries()));
+        // Last write time per table; cached query results are only valid if newer than it,
+        // so entries here must outlive every query result: never expired or evicted (one entry per table)
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, region());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+
+    // cache.gets{result=hit|miss}, cache.puts, cache.evictions and cache.removals per region, tagged cache=<region>
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager secondLevelCacheManager) {
+        return registry -> List.of(Task.CACHE_REGION, QUERY_RESULTS_REGION, UPDATE_TIMESTAMPS_REGION)
+                .forEach(region -> JCacheMetrics.monitor(
+                        registry, secondLevelCacheManager.getCache(region), Tags.of("cacheManager", "hibernate")));
+    }
+
+    private static CaffeineConfiguration<Object, Object> boundedRegion(SecondLevelCacheProperties.Region bounds) {
+        return region()
+                .setMaximumSize(OptionalLong.of(bounds.maxSize()))
+                .setExpireAfterWrite(OptionalLong.of(bounds.ttl().toNanos()));
+    }
+
+    private static CaffeineConfiguration<Object, Object> region() {
+        return new CaffeineConfiguration<>()
+                // Hibernate stores its own disassembled, immutable entries; copying them on every read buys nothing
+                .setStoreByValue(false)
+                // Needed for the hit, miss and eviction counts read by JCacheMetrics
+                .setStatisticsEnabled(true);
+    }
+}
@@ -0,0 +1,19 @@
+package tr.com.rsakin.taskmanagementapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// app.cache.* settings: bounds of the Hibernate second-level cache regions
+@ConfigurationProperties(prefix = "app.cache")
+public record SecondLevelCacheProperties(
+        @DefaultValue Region tasks,
+        @DefaultValue Region taskQueries) {
+
+    // Entries are evicted once the region holds maxSize of them, and ttl after they were written
+    public record Region(
+            @DefaultValue("PT10M") Duration ttl,
+            @DefaultValue("10000") long maxSize) {
+    }
+}
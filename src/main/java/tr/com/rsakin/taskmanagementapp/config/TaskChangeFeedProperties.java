@@ -0,0 +1,17 @@
+package tr.com.rsakin.taskmanagementapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import tr.com.rsakin.taskmanagementapp.service.TaskChangeFeed;
+
+import java.time.Duration;
+
+// app.feed.* settings: how many recent changes are kept for resuming clients, how many changes each client
+// may fall behind and what is dropped beyond that, and how often idle connections get a heartbeat
+@ConfigurationProperties(prefix = "app.feed")
+public record TaskChangeFeedProperties(
+        @DefaultValue("10000") int historySize,
+        @DefaultValue("256") int subscriberBufferSize,
+        @DefaultValue("latest") TaskChangeFeed.SlowSubscriberPolicy slowSubscriberPolicy,
+        @DefaultValue("PT15S") Duration heartbeatInterval) {
+}
@@ -0,0 +1,9 @@
+package tr.com.rsakin.taskmanagementapp.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({TaskEventProperties.class, TaskChangeFeedProperties.class})
+public class TaskEventConfig {
+}
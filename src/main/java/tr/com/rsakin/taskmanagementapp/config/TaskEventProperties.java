@@ -0,0 +1,18 @@
+package tr.com.rsakin.taskmanagementapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import tr.com.rsakin.taskmanagementapp.service.TaskEventBus;
+
+import java.time.Duration;
+
+// app.events.* settings: size of the task event ring buffer, how many threads dispatch from it
+// and what publishing does when it is full
+@ConfigurationProperties(prefix = "app.events")
+public record TaskEventProperties(
+        @DefaultValue("1024") int bufferSize,
+        @DefaultValue("1") int consumerThreads,
+        @DefaultValue("coalesce") TaskEventBus.OverflowPolicy overflowPolicy,
+        @DefaultValue("PT1S") Duration blockTimeout,
+        @DefaultValue("PT5S") Duration shutdownTimeout) {
+}
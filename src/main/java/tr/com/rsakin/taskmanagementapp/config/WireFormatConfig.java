@@ -0,0 +1,31 @@
+package tr.com.rsakin.taskmanagementapp.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// Compact binary alternatives to JSON, for API consumers that ask for them with Accept:
+// CBOR (application/cbor) and Smile (application/x-jackson-smile). Any other Accept still gets JSON.
+// The mappers come from Spring Boot's builder like the JSON one, so spring.jackson.* settings and
+// TaskResponseDTOSerializer apply and every format carries the same fields.
+// Registered as beans, they take the place of the MVC defaults for these formats, which would ignore those settings.
+@Configuration
+public class WireFormatConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+}
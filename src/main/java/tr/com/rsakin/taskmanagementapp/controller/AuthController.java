@@ -1,10 +1,13 @@
 package tr.com.rsakin.taskmanagementapp.controller;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -12,6 +15,12 @@ import org.springframework.web.bind.annotation.RestController;
 import tr.com.rsakin.taskmanagementapp.model.dto.request.AuthRequest;
 import tr.com.rsakin.taskmanagementapp.model.dto.response.AuthResponse;
 import tr.com.rsakin.taskmanagementapp.security.JwtUtil;
+import tr.com.rsakin.taskmanagementapp.security.LoginExecutorProperties;
+import tr.com.rsakin.taskmanagementapp.security.PasswordVerificationExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/auth")
@@ -19,22 +28,45 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final PasswordVerificationExecutor passwordVerificationExecutor;
+    private final String retryAfterSeconds;
 
-    public AuthController(AuthenticationManager authenticationManager, JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public AuthController(AuthenticationManager authenticationManager, JwtUtil jwtUtil,
+                          PasswordVerificationExecutor passwordVerificationExecutor,
+                          LoginExecutorProperties loginExecutorProperties) {
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+        this.passwordVerificationExecutor = passwordVerificationExecutor;
+        this.retryAfterSeconds = String.valueOf(loginExecutorProperties.retryAfterSeconds());
     }
 
+    // The password check runs on the bounded verification pool and the servlet thread is released meanwhile
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody AuthRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.username(), request.password())
-        );
-        UserDetails userDetails = userDetailsService.loadUserByUsername(request.username());
-        String token = jwtUtil.generateToken(userDetails);
-        return ResponseEntity.ok(new AuthResponse(token));
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody AuthRequest request) {
+        CompletableFuture<Authentication> authentication;
+        try {
+            authentication = passwordVerificationExecutor.submit(() -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.username(), request.password())
+            ));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                    .build());
+        }
+
+        return authentication
+                .<ResponseEntity<?>>thenApply(result -> {
+                    // The authenticated principal is the user that was just loaded, no need to look it up again
+                    UserDetails userDetails = (UserDetails) result.getPrincipal();
+                    return ResponseEntity.ok(new AuthResponse(jwtUtil.generateToken(userDetails)));
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof AuthenticationException) {
+                        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+                    }
+                    throw new CompletionException(cause);
+                });
     }
 
 }
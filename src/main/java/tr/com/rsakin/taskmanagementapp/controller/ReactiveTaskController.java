@@ -3,7 +3,9 @@ package tr.com.rsakin.taskmanagementapp.controller;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tr.com.rsakin.taskmanagementapp.model.dto.request.StatusUpdateRequest;
@@ -11,7 +13,10 @@ import tr.com.rsakin.taskmanagementapp.model.dto.request.TaskRequest;
 import tr.com.rsakin.taskmanagementapp.model.entity.Task;
 import tr.com.rsakin.taskmanagementapp.model.exception.TaskNotFoundException;
 import tr.com.rsakin.taskmanagementapp.service.ReactiveTaskService;
+import tr.com.rsakin.taskmanagementapp.service.TaskChange;
+import tr.com.rsakin.taskmanagementapp.service.TaskChangeFeed;
 
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -19,11 +24,13 @@ import java.util.UUID;
 public class ReactiveTaskController {
 
     private final ReactiveTaskService taskService;
+    private final TaskChangeFeed taskChangeFeed;
 
 
     @Autowired
-    public ReactiveTaskController(ReactiveTaskService taskService) {
+    public ReactiveTaskController(ReactiveTaskService taskService, TaskChangeFeed taskChangeFeed) {
         this.taskService = taskService;
+        this.taskChangeFeed = taskChangeFeed;
     }
 
 
@@ -38,12 +45,38 @@ public class ReactiveTaskController {
         return taskService.getAllTasks();
     }
 
+    // Live change feed: a snapshot of all tasks, then created, status-changed and deleted events as they commit.
+    // Browsers' EventSource sends Last-Event-ID on reconnect, which resumes the feed where it left off
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> getTaskChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return taskChangeFeed.changes(lastEventId).map(ReactiveTaskController::toServerSentEvent);
+    }
+
     @GetMapping("/{id}")
     public Mono<Task> getTaskById(@PathVariable UUID id) {
         return taskService.getTaskById(id)
                 .switchIfEmpty(Mono.error(new TaskNotFoundException(id)));
     }
 
+    @GetMapping("/status/{status}")
+    public Flux<Task> getTasksByStatus(@PathVariable Task.TaskStatus status) {
+        return taskService.getTasksByStatus(status);
+    }
+
+    @GetMapping("/priority/{value}")
+    public Flux<Task> getTasksByPriority(@PathVariable int value) {
+        if (value < 1 || value > 3) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid priority value"));
+        }
+        return taskService.getTasksByPriority(value);
+    }
+
+    @GetMapping("/top-priority")
+    public Flux<Task> getTopPriorityTasks(@RequestParam(defaultValue = "10") int limit) {
+        return taskService.getTopPriorityTasks(limit);
+    }
+
     @PatchMapping("/{id}/status")
     public Mono<Task> updateTaskStatus(
             @PathVariable UUID id,
@@ -60,4 +93,16 @@ public class ReactiveTaskController {
         return taskService.deleteTask(id);
     }
 
+    private static ServerSentEvent<Object> toServerSentEvent(TaskChange change) {
+        if (change.kind() == TaskChange.Kind.HEARTBEAT) {
+            return ServerSentEvent.builder().comment("heartbeat").build();
+        }
+        // Events without data are not dispatched by EventSource, so the snapshot-end marker gets an empty object
+        Object data = change.task() != null ? change.task() : Map.of();
+        return ServerSentEvent.builder(data)
+                .id(change.id())
+                .event(change.kind().eventName())
+                .build();
+    }
+
 }
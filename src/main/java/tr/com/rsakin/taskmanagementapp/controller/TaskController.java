@@ -1,25 +1,37 @@
 package tr.com.rsakin.taskmanagementapp.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import tr.com.rsakin.taskmanagementapp.config.WireFormatConfig;
+import tr.com.rsakin.taskmanagementapp.model.dto.request.BulkStatusUpdateRequest;
 import tr.com.rsakin.taskmanagementapp.model.dto.request.PriorityUpdateRequest;
 import tr.com.rsakin.taskmanagementapp.model.dto.request.StatusUpdateRequest;
+import tr.com.rsakin.taskmanagementapp.model.dto.request.TaskProjection;
 import tr.com.rsakin.taskmanagementapp.model.dto.request.TaskRequest;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.BulkStatusUpdateResponse;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.CursorPage;
 import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskResponseDTO;
 import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskStatistics;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskSummaryDTO;
 import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+import tr.com.rsakin.taskmanagementapp.model.exception.TaskVersionConflictException;
+import tr.com.rsakin.taskmanagementapp.service.TaskExportService;
 import tr.com.rsakin.taskmanagementapp.service.TaskService;
 import tr.com.rsakin.taskmanagementapp.service.TaskStatusNotAvailableException;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -30,12 +42,20 @@ import java.util.concurrent.CompletableFuture;
 @Tag(name = "Task Management", description = "API endpoints for task CRUD operations")
 public class TaskController {
 
+    // Keyset pagination: the opaque cursor of the next page travels in a response header,
+    // so list bodies stay plain JSON arrays
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    static final String FIELDS_DESCRIPTION = "Comma-separated fields to return. id, title, status and priority alone "
+            + "select the summary projection, which skips the description; by default every field is returned";
+
     // Composition over inheritance
     // - More Flexibility: Inheritance creates a tight coupling between the parent and child classes, whereas composition allows objects to be more modular.
     // - Easier Code Maintenance: With composition, you can change behaviors by swapping out components instead of modifying a whole class hierarchy.
     // - Avoids Deep Inheritance Trees: Inheritance can lead to complex, hard-to-maintain structures, while composition keeps relationships simpler.
     // - Encapsulation & Reusability:
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
 
     // Clean code: Constructor injection instead of field injection
     // Constructor Injection
@@ -47,8 +67,9 @@ public class TaskController {
     @Autowired
     // What is annotation : An annotation is a special type of metadata that you can attach to classes, methods, and other elements in a Java program.
     // - It is a Spring annotation that tells Spring to automatically inject the taskService field with the appropriate object instance.
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskExportService taskExportService) {
         this.taskService = taskService;
+        this.taskExportService = taskExportService;
     }
 
     // HTTP Methods : GET, POST, PUT, PATCH, DELETE
@@ -63,7 +84,8 @@ public class TaskController {
     // What is JSON : JSON is a data format that is used to transfer data over the internet.
     // What is XML : XML is a data format that is used to transfer data over the internet.
     // Endpoint : A URL that is used to access a resource on a server.
-    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PostMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, WireFormatConfig.APPLICATION_SMILE_VALUE},
+            consumes = MediaType.APPLICATION_JSON_VALUE)
     // HTTP Post
     // HTTP Status Code : 201
     // HTTP Body : JSON
@@ -86,20 +108,51 @@ public class TaskController {
         return new ResponseEntity<>(newTask, HttpStatus.CREATED);
     }
 
+    @Operation(
+            summary = "Create tasks in bulk",
+            description = "Creates up to " + TaskService.MAX_BATCH_SIZE + " tasks in a single transaction; either all of them are created or none",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Tasks created successfully",
+                            content = @Content(mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = TaskResponseDTO.class)))),
+                    @ApiResponse(responseCode = "400", description = "Invalid input or too many tasks")
+            }
+    )
+    @PostMapping(value = "/batch",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, WireFormatConfig.APPLICATION_SMILE_VALUE},
+            consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<TaskResponseDTO>> createTasks(@RequestBody List<TaskRequest> requests) {
+        try {
+            return new ResponseEntity<>(taskService.createTasks(requests), HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // CRUD Operations
     // Create, Read, Update, Delete
     @Operation(
             summary = "Get all tasks",
-            description = "Retrieves a list of all tasks in the system",
+            description = "Retrieves a page of tasks, newest first. Pass the X-Next-Cursor response header back as 'cursor' to get the next page",
             responses = {
                     @ApiResponse(responseCode = "200", description = "List of tasks retrieved successfully",
                             content = @Content(mediaType = "application/json",
-                                    array = @ArraySchema(schema = @Schema(implementation = TaskResponseDTO.class))))
+                                    array = @ArraySchema(schema = @Schema(oneOf = {TaskResponseDTO.class, TaskSummaryDTO.class})))),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or unknown field")
             }
     )
     @GetMapping
-    public ResponseEntity<List<TaskResponseDTO>> getAllTasks() {
-        return ResponseEntity.status(HttpStatus.OK).body(taskService.getAllTasks());
+    public ResponseEntity<List<?>> getAllTasks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) int size,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields) {
+        try {
+            return toPageResponse(TaskProjection.forFields(fields) == TaskProjection.SUMMARY
+                    ? taskService.getTaskSummariesPage(cursor, size)
+                    : taskService.getTasksPage(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     // What is URL : A URL (Uniform Resource Locator) is a string that specifies the location of a resource on the internet.
@@ -127,12 +180,13 @@ public class TaskController {
 
     @Operation(
             summary = "Update task status",
-            description = "Updates the status of an existing task",
+            description = "Updates the status of an existing task. Pass the task's version to update only if nobody changed it meanwhile",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Task status updated successfully",
                             content = @Content(mediaType = "application/json",
                                     schema = @Schema(implementation = Task.class))),
-                    @ApiResponse(responseCode = "404", description = "Task not found")
+                    @ApiResponse(responseCode = "404", description = "Task not found"),
+                    @ApiResponse(responseCode = "409", description = "Task was modified since the given version")
             }
     )
     @PatchMapping("/{id}/status")
@@ -142,16 +196,38 @@ public class TaskController {
             @RequestBody StatusUpdateRequest request) {
 
         try {
-            Task updatedTask = taskService.updateTaskStatus(id, request.status());
+            Task updatedTask = taskService.updateTaskStatus(id, request.status(), request.version());
             return ResponseEntity.ok(updatedTask);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
+        } catch (TaskVersionConflictException e) {
+            // Someone else changed the task since the client read it; re-read and retry
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (TaskStatusNotAvailableException ex) {
             // custom buss logic
             return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
         }
     }
 
+    @Operation(
+            summary = "Update the status of many tasks",
+            description = "Moves every task matching the filter (ids, currentStatus, priorityValue) to targetStatus. BLOCKED tasks are skipped",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Number and ids of the updated tasks",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = BulkStatusUpdateResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Missing target status or filter")
+            }
+    )
+    @PatchMapping("/status")
+    public ResponseEntity<BulkStatusUpdateResponse> updateTasksStatus(@RequestBody BulkStatusUpdateRequest request) {
+        try {
+            return ResponseEntity.ok(taskService.updateTasksStatus(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @Operation(
             summary = "Find task by title",
             description = "Retrieves a task with the specified title",
@@ -169,8 +245,50 @@ public class TaskController {
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<TaskResponseDTO>> getTasksByStatus(@PathVariable Task.TaskStatus status) {
-        return ResponseEntity.ok(taskService.getTasksByStatus(status));
+    public ResponseEntity<List<?>> getTasksByStatus(
+            @PathVariable Task.TaskStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) int size,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields) {
+        try {
+            return toPageResponse(TaskProjection.forFields(fields) == TaskProjection.SUMMARY
+                    ? taskService.getTaskSummariesPageByStatus(status, cursor, size)
+                    : taskService.getTasksPageByStatus(status, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(
+            summary = "Search tasks",
+            description = "Ranked search over titles and descriptions. Every word of q has to match; words of three or more "
+                    + "characters match anywhere inside a word, shorter ones at the start of a word. Title matches rank higher. "
+                    + "Pass the X-Next-Cursor response header back as 'cursor' to get the next page",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Matching tasks, best match first",
+                            content = @Content(mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(oneOf = {TaskResponseDTO.class, TaskSummaryDTO.class})))),
+                    @ApiResponse(responseCode = "400", description = "Empty query, invalid cursor or unknown field"),
+                    @ApiResponse(responseCode = "503", description = "Search index is still being built")
+            }
+    )
+    @GetMapping("/search")
+    public ResponseEntity<List<?>> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) int size,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields) {
+        try {
+            return toPageResponse(TaskProjection.forFields(fields) == TaskProjection.SUMMARY
+                    ? taskService.searchTaskSummaries(q, cursor, size)
+                    : taskService.searchTasks(q, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
     }
 
     @GetMapping("/title/{title}")
@@ -190,6 +308,32 @@ public class TaskController {
         return ResponseEntity.ok(taskService.generateTaskReport());
     }
 
+    @Operation(
+            summary = "Export all tasks",
+            description = "Streams every task as newline-delimited JSON (format=ndjson) or CSV (format=csv) without loading the table into memory",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+                    @ApiResponse(responseCode = "400", description = "Unknown export format")
+            }
+    )
+    @GetMapping("/export")
+    public void exportTasks(@RequestParam(defaultValue = "ndjson") String format,
+                            HttpServletResponse response) throws IOException {
+        TaskExportService.ExportFormat exportFormat;
+        try {
+            exportFormat = TaskExportService.ExportFormat.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Unknown export format: " + format);
+            return;
+        }
+
+        response.setContentType(exportFormat.getMediaType().toString());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"tasks." + exportFormat.getFileExtension() + "\"");
+        taskExportService.exportTasks(exportFormat, response.getOutputStream());
+    }
+
     @GetMapping("/async")
     public CompletableFuture<ResponseEntity<List<TaskResponseDTO>>> getTasksAsync() {
         return taskService.getTasksAsync()
@@ -239,12 +383,22 @@ public class TaskController {
     }
 
     @GetMapping("/priority/{value}")
-    public ResponseEntity<List<TaskResponseDTO>> getTasksByPriority(@PathVariable int value) {
+    public ResponseEntity<List<?>> getTasksByPriority(
+            @PathVariable int value,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) int size,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields) {
         if (value < 1 || value > 3) {
             return ResponseEntity.badRequest().build();
         }
 
-        return ResponseEntity.ok(taskService.getTasksByPriority(value));
+        try {
+            return toPageResponse(TaskProjection.forFields(fields) == TaskProjection.SUMMARY
+                    ? taskService.getTaskSummariesPageByPriority(value, cursor, size)
+                    : taskService.getTasksPageByPriority(value, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @PostMapping("/{id}/priority")
@@ -252,13 +406,8 @@ public class TaskController {
             @PathVariable UUID id,
             @RequestBody PriorityUpdateRequest request) {
         try {
-            // Convert string or int to TaskPriority object based on request
-            Task.Priority priority = switch(request.value()) {
-                case 1 -> new Task.LowPriority();
-                case 2 -> new Task.MediumPriority();
-                case 3 -> new Task.HighPriority();
-                default -> throw new IllegalArgumentException("Invalid priority value");
-            };
+            // Convert the int to its shared TaskPriority object
+            Task.Priority priority = Task.Priority.ofValue(request.value());
 
             Task updatedTask = taskService.updateTaskPriority(id, priority);
             return ResponseEntity.ok(updatedTask);
@@ -272,4 +421,12 @@ public class TaskController {
         return ResponseEntity.ok(taskService.getTaskStatusStatistics());
     }
 
+    private ResponseEntity<List<?>> toPageResponse(CursorPage<?> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
 }
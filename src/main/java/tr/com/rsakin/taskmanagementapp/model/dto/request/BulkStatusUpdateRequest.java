@@ -0,0 +1,19 @@
+package tr.com.rsakin.taskmanagementapp.model.dto.request;
+
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+
+import java.util.List;
+import java.util.UUID;
+
+// Moves every task matching the filter to targetStatus.
+// Filter fields are optional but at least one is required; BLOCKED tasks are never moved.
+public record BulkStatusUpdateRequest(
+        List<UUID> ids,
+        Task.TaskStatus currentStatus,
+        Integer priorityValue,
+        Task.TaskStatus targetStatus) {
+
+    public boolean hasFilter() {
+        return (ids != null && !ids.isEmpty()) || currentStatus != null || priorityValue != null;
+    }
+}
@@ -0,0 +1,36 @@
+package tr.com.rsakin.taskmanagementapp.model.dto.request;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+// Keyset position in ranked search results.
+// Hits are ordered by (score DESC, createdAt DESC, id DESC), so like TaskCursor the last hit of a page
+// is enough to continue after it, and pages stay stable while tasks are added or removed.
+public record SearchCursor(int score, LocalDateTime createdAt, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = score + SEPARATOR + createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new SearchCursor(
+                    Integer.parseInt(parts[0]),
+                    LocalDateTime.parse(parts[1]),
+                    UUID.fromString(parts[2]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
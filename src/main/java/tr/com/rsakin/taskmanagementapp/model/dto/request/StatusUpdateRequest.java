@@ -2,5 +2,10 @@ package tr.com.rsakin.taskmanagementapp.model.dto.request;
 
 import tr.com.rsakin.taskmanagementapp.model.entity.Task;
 
-public record StatusUpdateRequest(Task.TaskStatus status) {
+// version is optional: when given, the update only applies if the task still has that version (otherwise 409)
+public record StatusUpdateRequest(Task.TaskStatus status, Long version) {
+
+    public StatusUpdateRequest(Task.TaskStatus status) {
+        this(status, null);
+    }
 }
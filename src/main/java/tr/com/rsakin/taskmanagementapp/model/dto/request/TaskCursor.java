@@ -0,0 +1,48 @@
+package tr.com.rsakin.taskmanagementapp.model.dto.request;
+
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+// Keyset (seek) position for paginated task lists.
+// Pages are ordered by (createdAt DESC, id DESC), so the position of the last row of a page
+// is enough to continue from there with an index-friendly range condition instead of OFFSET.
+// Clients only ever see the encoded, opaque form.
+public record TaskCursor(LocalDateTime createdAt, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static TaskCursor of(Task task) {
+        return of(task.getCreatedAt(), task.getId());
+    }
+
+    public static TaskCursor of(LocalDateTime createdAt, UUID id) {
+        // Timestamp columns keep microseconds; match what is stored, not the in-memory nanos of a fresh entity
+        return new TaskCursor(createdAt.truncatedTo(ChronoUnit.MICROS), id);
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new TaskCursor(
+                    LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    UUID.fromString(raw.substring(separatorIndex + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
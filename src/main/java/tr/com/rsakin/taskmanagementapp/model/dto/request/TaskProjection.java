@@ -0,0 +1,37 @@
+package tr.com.rsakin.taskmanagementapp.model.dto.request;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+// Sparse fieldsets for the task lists: ?fields= names the TaskResponseDTO fields a client needs
+// (comma separated) and picks the narrowest projection that has all of them. Lists are read and serialized
+// per projection, so a response may carry more fields than asked for, never fewer.
+// No fields parameter means every field.
+public enum TaskProjection {
+
+    SUMMARY(Set.of("id", "title", "status", "priority")),
+    FULL(Set.of("id", "title", "description", "status", "createdAt", "priority"));
+
+    private final Set<String> fields;
+
+    TaskProjection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    public static TaskProjection forFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return FULL;
+        }
+        List<String> requested = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .toList();
+        for (String field : requested) {
+            if (!FULL.fields.contains(field)) {
+                throw new IllegalArgumentException("Unknown task field: " + field);
+            }
+        }
+        return SUMMARY.fields.containsAll(requested) ? SUMMARY : FULL;
+    }
+}
@@ -0,0 +1,9 @@
+package tr.com.rsakin.taskmanagementapp.model.dto.response;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BulkStatusUpdateResponse(
+        int updatedCount,
+        List<UUID> updatedIds) {
+}
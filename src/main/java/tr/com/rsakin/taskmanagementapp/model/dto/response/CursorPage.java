@@ -0,0 +1,14 @@
+package tr.com.rsakin.taskmanagementapp.model.dto.response;
+
+import java.util.List;
+
+// One page of a keyset-paginated list.
+// nextCursor is null when there are no more rows after this page.
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
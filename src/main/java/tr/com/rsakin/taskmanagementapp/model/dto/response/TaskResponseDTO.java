@@ -1,10 +1,13 @@
 package tr.com.rsakin.taskmanagementapp.model.dto.response;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import tr.com.rsakin.taskmanagementapp.model.entity.Task;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+// Written by TaskResponseDTOSerializer: this is the body of every task list and grouped response
+@JsonSerialize(using = TaskResponseDTOSerializer.class)
 public record TaskResponseDTO(
         UUID id,
         String title,
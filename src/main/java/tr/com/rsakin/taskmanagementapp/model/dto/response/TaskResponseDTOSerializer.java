@@ -0,0 +1,167 @@
+package tr.com.rsakin.taskmanagementapp.model.dto.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+// Writes a TaskResponseDTO straight to the generator's (pooled) buffer, producing the same JSON generic databind
+// did, without reflective record access or the polymorphic Priority bean serializer.
+// Field names, statuses and priority labels are encoded once. createdAt is formatted by hand as ISO-8601, which
+// is what the JavaTimeModule writes with WRITE_DATES_AS_TIMESTAMPS off (Spring Boot's default); a mapper with
+// timestamps on still gets the module's array.
+// List and grouped (Map<TaskStatus, List<...>>) responses keep Jackson's collection serializers, which resolve
+// this serializer once per response and then call it for every element.
+public class TaskResponseDTOSerializer extends StdSerializer<TaskResponseDTO> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString PRIORITY = new SerializedString("priority");
+    private static final SerializableString LABEL = new SerializedString("label");
+    private static final SerializableString VALUE = new SerializedString("value");
+
+    private static final SerializableString[] STATUS_NAMES = new SerializableString[Task.TaskStatus.values().length];
+    // Indexed by priority value
+    private static final SerializableString[] PRIORITY_LABELS = new SerializableString[Task.TaskPriority.values().length + 1];
+
+    static {
+        for (Task.TaskStatus status : Task.TaskStatus.values()) {
+            STATUS_NAMES[status.ordinal()] = new SerializedString(status.name());
+        }
+        for (int value = 1; value < PRIORITY_LABELS.length; value++) {
+            PRIORITY_LABELS[value] = new SerializedString(Task.Priority.ofValue(value).getLabel());
+        }
+    }
+
+    // Longest of a UUID (36) and yyyy-MM-ddTHH:mm:ss.nnnnnnnnn (29)
+    private static final int TEXT_LENGTH = 36;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    public TaskResponseDTOSerializer() {
+        super(TaskResponseDTO.class);
+    }
+
+    @Override
+    public void serialize(TaskResponseDTO task, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        // Scratch space for the id and createdAt text, instead of a String for each
+        char[] text = new char[TEXT_LENGTH];
+        generator.writeStartObject(task);
+        generator.writeFieldName(ID);
+        writeUuid(task.id(), text, generator);
+        generator.writeFieldName(TITLE);
+        generator.writeString(task.title());
+        generator.writeFieldName(DESCRIPTION);
+        generator.writeString(task.description());
+        generator.writeFieldName(STATUS);
+        if (task.status() != null) {
+            generator.writeString(STATUS_NAMES[task.status().ordinal()]);
+        } else {
+            generator.writeNull();
+        }
+        generator.writeFieldName(CREATED_AT);
+        if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeValue(task.createdAt(), generator);
+        } else {
+            writeDateTime(task.createdAt(), text, generator);
+        }
+        generator.writeFieldName(PRIORITY);
+        writePriority(task.priority(), generator);
+        generator.writeEndObject();
+    }
+
+    private static void writePriority(Task.Priority priority, JsonGenerator generator) throws IOException {
+        if (priority == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject(priority);
+        generator.writeFieldName(VALUE);
+        generator.writeNumber(priority.getValue());
+        generator.writeFieldName(LABEL);
+        generator.writeString(PRIORITY_LABELS[priority.getValue()]);
+        generator.writeEndObject();
+    }
+
+    // Same text as UUID.toString()
+    private static void writeUuid(UUID id, char[] text, JsonGenerator generator) throws IOException {
+        if (id == null) {
+            generator.writeNull();
+            return;
+        }
+        writeHex(text, 0, id.getMostSignificantBits() >>> 32, 8);
+        text[8] = '-';
+        writeHex(text, 9, id.getMostSignificantBits() >>> 16, 4);
+        text[13] = '-';
+        writeHex(text, 14, id.getMostSignificantBits(), 4);
+        text[18] = '-';
+        writeHex(text, 19, id.getLeastSignificantBits() >>> 48, 4);
+        text[23] = '-';
+        writeHex(text, 24, id.getLeastSignificantBits(), 12);
+        generator.writeString(text, 0, 36);
+    }
+
+    // Same text as DateTimeFormatter.ISO_LOCAL_DATE_TIME: seconds always, then the fraction without trailing zeros
+    private static void writeDateTime(LocalDateTime dateTime, char[] text, JsonGenerator generator) throws IOException {
+        if (dateTime == null) {
+            generator.writeNull();
+            return;
+        }
+        if (dateTime.getYear() < 0 || dateTime.getYear() > 9999) {
+            // Signed and wider years; never seen in practice
+            generator.writeString(dateTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            return;
+        }
+        writeDigits(text, 0, dateTime.getYear(), 4);
+        text[4] = '-';
+        writeDigits(text, 5, dateTime.getMonthValue(), 2);
+        text[7] = '-';
+        writeDigits(text, 8, dateTime.getDayOfMonth(), 2);
+        text[10] = 'T';
+        writeDigits(text, 11, dateTime.getHour(), 2);
+        text[13] = ':';
+        writeDigits(text, 14, dateTime.getMinute(), 2);
+        text[16] = ':';
+        writeDigits(text, 17, dateTime.getSecond(), 2);
+        int length = 19;
+        int nano = dateTime.getNano();
+        if (nano != 0) {
+            text[length++] = '.';
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            writeDigits(text, length, nano, digits);
+            length += digits;
+        }
+        generator.writeString(text, 0, length);
+    }
+
+    // Lowest width hex digits of value
+    private static void writeHex(char[] text, int offset, long value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            text[i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    // Zero-padded to width
+    private static void writeDigits(char[] text, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            text[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+}
@@ -0,0 +1,13 @@
+package tr.com.rsakin.taskmanagementapp.model.dto.response;
+
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+
+import java.util.UUID;
+
+// List item of the summary projection (?fields=id,title,status,priority): what a task list renders, no description
+public record TaskSummaryDTO(
+        UUID id,
+        String title,
+        Task.TaskStatus status,
+        Task.Priority priority
+) {}
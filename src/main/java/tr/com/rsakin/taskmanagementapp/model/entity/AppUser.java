@@ -0,0 +1,38 @@
+package tr.com.rsakin.taskmanagementapp.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+// User account for authentication
+// Passwords are stored only as BCrypt hashes, roles as a comma separated list (e.g. "USER,ADMIN")
+
+@Entity
+@Table(name = "app_users")
+@Getter
+@NoArgsConstructor // Required by JPA
+@AllArgsConstructor // Used by the builder
+@Builder
+public class AppUser {
+    @Id
+    @Column(name = "username", updatable = false, nullable = false)
+    private String username;
+
+    @Column(name = "password_hash", nullable = false)
+    private String passwordHash;
+
+    @Column(name = "roles", nullable = false)
+    private String roles;
+
+    @Column(name = "enabled", nullable = false)
+    private boolean enabled;
+
+    public List<String> getRoleList() {
+        return Arrays.stream(roles.split(","))
+                .map(String::trim)
+                .filter(role -> !role.isEmpty())
+                .toList();
+    }
+}
@@ -2,6 +2,10 @@ package tr.com.rsakin.taskmanagementapp.model.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -12,11 +16,18 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "tasks")
+// Second-level cache: READ_WRITE soft-locks an entry while a transaction updates the task,
+// so concurrent readers go to the database instead of seeing the old state
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Task.CACHE_REGION)
 @Getter
 @NoArgsConstructor // Required by JPA
 @AllArgsConstructor // Used by the builder
 @Builder
 public class Task {
+
+    public static final String CACHE_REGION = "tasks";
+
     @Id
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
@@ -29,6 +40,7 @@ public class Task {
 
     @Column(name = "status", nullable = false)
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR) // Plain VARCHAR on every database (H2 would otherwise expect a native ENUM type)
     @With
     private TaskStatus status;
 
@@ -44,11 +56,24 @@ public class Task {
     @Column(name = "priority_label")
     private String priorityLabel;
 
+    // Optimistic locking; also how Spring Data tells new tasks apart: the id is assigned up front,
+    // but a null version means never persisted, so save() goes straight to INSERT instead of SELECT + merge.
+    // Existing rows (and rows inserted over R2DBC, which does not set it) start at the column default 0.
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Read from the stored priority_value, which every write keeps in step with the status.
+    // Only a task that was never persisted has none yet, and gets the one of its status.
     public Task.Priority getPriority() {
+        return priorityValue != 0 ? Priority.ofValue(priorityValue) : priorityOf(status);
+    }
+
+    public static Task.Priority priorityOf(TaskStatus status) {
         return switch (status) {
-            case PENDING, COMPLETED -> new LowPriority();
-            case IN_PROGRESS -> new MediumPriority();
-            case BLOCKED -> new HighPriority();
+            case PENDING, COMPLETED -> LowPriority.INSTANCE;
+            case IN_PROGRESS -> MediumPriority.INSTANCE;
+            case BLOCKED -> HighPriority.INSTANCE;
         };
     }
 
@@ -68,11 +93,7 @@ public class Task {
     }
 
     private void updatePriorityFields() {
-        Priority priority = switch (status) {
-            case PENDING, COMPLETED -> new LowPriority();
-            case IN_PROGRESS -> new MediumPriority();
-            case BLOCKED -> new HighPriority();
-        };
+        Priority priority = priorityOf(status);
 
         this.priorityValue = priority.getValue();
         this.priorityLabel = priority.getLabel();
@@ -98,10 +119,20 @@ public class Task {
         PENDING, IN_PROGRESS, BLOCKED, COMPLETED
     }
 
-    // Java 17 sealed classes hierarchy for task priorities
+    // Java 17 sealed classes hierarchy for task priorities.
+    // Stateless, so each one has a single shared instance: mapping a task to its priority never allocates.
     public sealed interface Priority permits LowPriority, MediumPriority, HighPriority {
         String getLabel();
         int getValue();
+
+        static Priority ofValue(int value) {
+            return switch (value) {
+                case 1 -> LowPriority.INSTANCE;
+                case 2 -> MediumPriority.INSTANCE;
+                case 3 -> HighPriority.INSTANCE;
+                default -> throw new IllegalArgumentException("Invalid priority value: " + value);
+            };
+        }
     }
 
     public enum TaskPriority {
@@ -119,8 +150,12 @@ public class Task {
     }
 
     public static final class LowPriority implements Priority {
+        public static final LowPriority INSTANCE = new LowPriority();
+
+        private LowPriority() {}
+
         @Override
-        public String   getLabel() {
+        public String getLabel() {
             return TaskPriority.LOW.label;
         }
 
@@ -131,6 +166,10 @@ public class Task {
     }
 
     public static final class MediumPriority implements Priority {
+        public static final MediumPriority INSTANCE = new MediumPriority();
+
+        private MediumPriority() {}
+
         @Override
         public String getLabel() {
             return TaskPriority.MEDIUM.label;
@@ -143,6 +182,10 @@ public class Task {
     }
 
     public static final class HighPriority implements Priority {
+        public static final HighPriority INSTANCE = new HighPriority();
+
+        private HighPriority() {}
+
         @Override
         public String getLabel() {
             return TaskPriority.HIGH.label;
@@ -0,0 +1,38 @@
+package tr.com.rsakin.taskmanagementapp.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Row of the transactional outbox: a task event waiting to be relayed, written in the transaction that changed the task
+@Entity
+@Table(name = "task_outbox")
+@Getter
+@NoArgsConstructor // Required by JPA
+@AllArgsConstructor // Used by the builder
+@Builder
+public class TaskOutboxEvent {
+
+    // Ids are handed out 50 at a time (the sequence increment), so inserts need no round trip per row and can be batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_outbox_seq")
+    @SequenceGenerator(name = "task_outbox_seq", sequenceName = "task_outbox_seq", allocationSize = 50)
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false, updatable = false)
+    private UUID taskId;
+
+    // Name of a TaskEvent.Type
+    @Column(name = "event_type", nullable = false, updatable = false, length = 32)
+    private String eventType;
+
+    @Column(name = "payload", nullable = false, updatable = false, length = 16000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+}
@@ -1,7 +1,11 @@
 package tr.com.rsakin.taskmanagementapp.model.exception;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
 import java.util.UUID;
 
+@ResponseStatus(HttpStatus.NOT_FOUND)
 public class TaskNotFoundException extends RuntimeException {
     public TaskNotFoundException(UUID id) {
         super("Task not found with ID: " + id);
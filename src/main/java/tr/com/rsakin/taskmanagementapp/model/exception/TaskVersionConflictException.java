@@ -0,0 +1,18 @@
+package tr.com.rsakin.taskmanagementapp.model.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.UUID;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class TaskVersionConflictException extends RuntimeException {
+    public TaskVersionConflictException(UUID id, long expectedVersion, long currentVersion) {
+        super("Task " + id + " was modified concurrently: expected version " + expectedVersion + " but is " + currentVersion);
+    }
+
+    // Without a version from the client: the task kept changing between reading and updating it
+    public TaskVersionConflictException(UUID id, int attempts) {
+        super("Task " + id + " was modified concurrently on each of " + attempts + " attempts");
+    }
+}
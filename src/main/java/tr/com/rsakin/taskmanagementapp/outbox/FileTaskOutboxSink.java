@@ -0,0 +1,54 @@
+package tr.com.rsakin.taskmanagementapp.outbox;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+// Appends every message as one NDJSON line ({"id", "taskId", "eventType", "createdAt", "payload"}) to a local file.
+// Each batch is forced to disk before publish returns, so a batch the outbox deletes is never lost in the page cache.
+public class FileTaskOutboxSink implements TaskOutboxSink {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public FileTaskOutboxSink(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> messages) {
+        try (FileChannel channel = FileChannel.open(file, CREATE, WRITE, APPEND)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            for (OutboxMessage message : messages) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", message.id());
+                generator.writeStringField("taskId", message.taskId().toString());
+                generator.writeStringField("eventType", message.eventType());
+                generator.writeStringField("createdAt", message.createdAt().toString());
+                // Already JSON, copied as is
+                generator.writeFieldName("payload");
+                generator.writeRawValue(message.payload());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append task events to " + file, e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package tr.com.rsakin.taskmanagementapp.outbox;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+// Keeps the most recent capacity messages in memory; for tests and local runs
+public class InMemoryTaskOutboxSink implements TaskOutboxSink {
+
+    private final int capacity;
+    private final ArrayDeque<OutboxMessage> messages = new ArrayDeque<>();
+
+    public InMemoryTaskOutboxSink(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            if (messages.size() == capacity) {
+                messages.removeFirst();
+            }
+            messages.addLast(message);
+        }
+    }
+
+    public synchronized List<OutboxMessage> messages() {
+        return List.copyOf(messages);
+    }
+
+    public synchronized void clear() {
+        messages.clear();
+    }
+}
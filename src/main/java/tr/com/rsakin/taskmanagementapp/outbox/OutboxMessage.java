@@ -0,0 +1,21 @@
+package tr.com.rsakin.taskmanagementapp.outbox;
+
+import tr.com.rsakin.taskmanagementapp.model.entity.TaskOutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// A relayed outbox event as handed to a TaskOutboxSink. The id is unique per event, so consumers can drop the
+// duplicates of an at-least-once redelivery by id. It is not ordered: every instance reserves blocks of 50 ids from
+// the sequence, so a later event may well have a smaller id, and a "highest id seen" mark would skip events.
+public record OutboxMessage(
+        long id,
+        UUID taskId,
+        String eventType,
+        String payload,
+        LocalDateTime createdAt) {
+
+    public static OutboxMessage of(TaskOutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getTaskId(), event.getEventType(), event.getPayload(), event.getCreatedAt());
+    }
+}
@@ -0,0 +1,77 @@
+package tr.com.rsakin.taskmanagementapp.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Component;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+import tr.com.rsakin.taskmanagementapp.model.entity.TaskOutboxEvent;
+import tr.com.rsakin.taskmanagementapp.repository.TaskOutboxRepository;
+import tr.com.rsakin.taskmanagementapp.service.TaskEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Writes task events to the outbox table inside the transaction that changes the task: both commit or neither does,
+// with no second system to call on the request path. TaskOutboxRelay delivers them later.
+@Component
+@Transactional(Transactional.TxType.MANDATORY)
+public class TaskOutbox {
+
+    private final TaskOutboxRepository taskOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public TaskOutbox(TaskOutboxRepository taskOutboxRepository, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.taskOutboxRepository = taskOutboxRepository;
+        this.objectMapper = objectMapper;
+
+        // A count query per scrape; keeps growing while no relay drains the table
+        Gauge.builder("task.outbox.pending", taskOutboxRepository, TaskOutboxRepository::count)
+                .description("Outbox events written but not relayed yet")
+                .register(meterRegistry);
+    }
+
+    public void record(TaskEvent event) {
+        taskOutboxRepository.save(toRow(event, LocalDateTime.now()));
+    }
+
+    // Inserted in JDBC batches
+    public void recordAll(List<TaskEvent> events) {
+        LocalDateTime now = LocalDateTime.now();
+        taskOutboxRepository.saveAll(events.stream().map(event -> toRow(event, now)).toList());
+    }
+
+    private TaskOutboxEvent toRow(TaskEvent event, LocalDateTime createdAt) {
+        Task task = event.task();
+        TaskEventPayload payload = new TaskEventPayload(task.getId(), task.getTitle(), task.getDescription(),
+                task.getStatus(), event.previousStatus(), task.getPriorityValue(), task.getPriorityLabel(),
+                task.getVersion(), task.getCreatedAt(), task.getUpdatedAt());
+        try {
+            return TaskOutboxEvent.builder()
+                    .taskId(task.getId())
+                    .eventType(event.type().name())
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .createdAt(createdAt)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize task event for task " + task.getId(), e);
+        }
+    }
+
+    // JSON payload of an outbox event: the task after the change (before it, for deletes)
+    record TaskEventPayload(
+            UUID id,
+            String title,
+            String description,
+            Task.TaskStatus status,
+            Task.TaskStatus previousStatus,
+            int priorityValue,
+            String priorityLabel,
+            Long version,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt) {
+    }
+}
@@ -0,0 +1,21 @@
+package tr.com.rsakin.taskmanagementapp.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Built-in outbox sinks, picked by app.outbox.sink. A sink for a real transport (e.g. a message broker producer)
+// implements TaskOutboxSink and is declared as a @Primary bean.
+@Configuration
+@EnableConfigurationProperties(TaskOutboxProperties.class)
+public class TaskOutboxConfig {
+
+    @Bean
+    public TaskOutboxSink taskOutboxSink(TaskOutboxProperties properties, ObjectMapper objectMapper) {
+        return switch (properties.sink()) {
+            case MEMORY -> new InMemoryTaskOutboxSink(properties.memoryCapacity());
+            case FILE -> new FileTaskOutboxSink(properties.file(), objectMapper);
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package tr.com.rsakin.taskmanagementapp.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+// app.outbox.* settings: how many events the relay hands to the sink per transaction and which built-in sink it uses.
+// The poll interval (app.outbox.poll-interval) and app.outbox.relay-enabled are read by TaskOutboxRelay directly.
+@ConfigurationProperties(prefix = "app.outbox")
+public record TaskOutboxProperties(
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("file") Sink sink,
+        @DefaultValue("task-outbox.ndjson") Path file,
+        @DefaultValue("10000") int memoryCapacity) {
+
+    public enum Sink {
+        // Keeps the last memoryCapacity events in memory (tests, local runs). The relay deletes what it hands over,
+        // so these events are gone after a restart
+        MEMORY,
+        // Appends the events as NDJSON lines to file
+        FILE
+    }
+}
@@ -0,0 +1,101 @@
+package tr.com.rsakin.taskmanagementapp.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tr.com.rsakin.taskmanagementapp.model.entity.TaskOutboxEvent;
+import tr.com.rsakin.taskmanagementapp.repository.TaskOutboxRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Drains the outbox into the TaskOutboxSink, batchSize events per transaction, until it is empty; then waits
+// app.outbox.poll-interval. Batches are claimed with FOR UPDATE SKIP LOCKED, so every instance can run a relay:
+// they split the backlog instead of queueing behind each other's locks.
+// Delivery is at least once: a batch is deleted in the transaction that handed it to the sink, so a crash in
+// between delivers it again. Events of one task stay in order within an instance; across instances they may interleave.
+// On unless app.outbox.relay-enabled=false, e.g. on instances that should leave relaying to others: without any relay
+// the table grows with every write (see the task.outbox.pending gauge).
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.outbox.relay-enabled", havingValue = "true", matchIfMissing = true)
+public class TaskOutboxRelay {
+
+    private final TaskOutboxRepository taskOutboxRepository;
+    private final TaskOutboxSink taskOutboxSink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final Counter relayedCounter;
+    private final Counter failureCounter;
+    private final Timer batchTimer;
+    private final Timer lagTimer;
+
+    public TaskOutboxRelay(TaskOutboxRepository taskOutboxRepository,
+                           TaskOutboxSink taskOutboxSink,
+                           PlatformTransactionManager transactionManager,
+                           TaskOutboxProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.taskOutboxRepository = taskOutboxRepository;
+        this.taskOutboxSink = taskOutboxSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = properties.batchSize();
+
+        this.relayedCounter = Counter.builder("task.outbox.relayed")
+                .description("Outbox events handed to the sink")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("task.outbox.failures")
+                .description("Relay batches that failed and were left for the next poll")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("task.outbox.batch")
+                .description("Time to claim, publish and delete one batch of outbox events")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("task.outbox.lag")
+                .description("Time from writing an outbox event until it is handed to the sink")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.outbox.poll-interval:PT1S}",
+            fixedDelayString = "${app.outbox.poll-interval:PT1S}")
+    public void drain() {
+        try {
+            while (relayBatch() == batchSize) {
+                // Full batch: there may be more right away
+            }
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            log.warn("Relaying task outbox events failed, retrying on the next poll", e);
+        }
+    }
+
+    // Returns the number of events relayed
+    int relayBatch() {
+        Timer.Sample sample = Timer.start();
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<TaskOutboxEvent> batch = taskOutboxRepository.lockNextBatch(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            taskOutboxSink.publish(batch.stream().map(OutboxMessage::of).toList());
+            taskOutboxRepository.deleteAllByIdInBatch(batch.stream().map(TaskOutboxEvent::getId).toList());
+
+            LocalDateTime now = LocalDateTime.now();
+            batch.forEach(event -> lagTimer.record(Duration.between(event.getCreatedAt(), now)));
+            return batch.size();
+        });
+        if (relayed != null && relayed > 0) {
+            sample.stop(batchTimer);
+            relayedCounter.increment(relayed);
+        }
+        return relayed == null ? 0 : relayed;
+    }
+
+}
@@ -0,0 +1,12 @@
+package tr.com.rsakin.taskmanagementapp.outbox;
+
+import java.util.List;
+
+// Destination of the relayed task events.
+// The batch is deleted from the outbox as soon as publish returns, so it must only return once the messages are
+// safely handed over; throwing keeps the whole batch in the outbox for the next poll.
+public interface TaskOutboxSink {
+
+    void publish(List<OutboxMessage> messages);
+
+}
@@ -0,0 +1,9 @@
+package tr.com.rsakin.taskmanagementapp.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import tr.com.rsakin.taskmanagementapp.model.entity.AppUser;
+
+@Repository
+public interface AppUserRepository extends JpaRepository<AppUser, String> {
+}
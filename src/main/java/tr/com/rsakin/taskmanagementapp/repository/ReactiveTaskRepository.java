@@ -0,0 +1,128 @@
+package tr.com.rsakin.taskmanagementapp.repository;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Non-blocking access to the same tasks table the JPA repository uses, over R2DBC.
+// Multi-row queries set a fetch size, so the driver pulls rows from a server-side portal
+// in batches as the subscriber requests them, instead of buffering the whole result.
+@Repository
+public class ReactiveTaskRepository {
+
+    public static final int FETCH_SIZE = 256;
+
+    private static final String COLUMNS = """
+            id, title, description, status, created_at, updated_at, priority_value, priority_label, version""";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveTaskRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<Task> findAll() {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM tasks ORDER BY created_at, id")
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(ReactiveTaskRepository::toTask)
+                .all();
+    }
+
+    public Mono<Task> findById(UUID id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM tasks WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveTaskRepository::toTask)
+                .one();
+    }
+
+    public Flux<Task> findByStatus(Task.TaskStatus status) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM tasks WHERE status = :status ORDER BY created_at, id")
+                .bind("status", status.name())
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(ReactiveTaskRepository::toTask)
+                .all();
+    }
+
+    public Flux<Task> findByPriorityValue(int priorityValue) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM tasks WHERE priority_value = :value ORDER BY created_at, id")
+                .bind("value", priorityValue)
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(ReactiveTaskRepository::toTask)
+                .all();
+    }
+
+    // Highest priority first, oldest first within a priority
+    public Flux<Task> findTopByPriority(int limit) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM tasks ORDER BY priority_value DESC, created_at, id LIMIT :limit")
+                .bind("limit", limit)
+                .map(ReactiveTaskRepository::toTask)
+                .all();
+    }
+
+    // The JPA lifecycle callbacks do not run here, so the derived priority fields are written explicitly
+    public Mono<Task> insert(Task task) {
+        Task.Priority priority = task.getPriority();
+        return databaseClient.sql("""
+                        INSERT INTO tasks (id, title, description, status, created_at, updated_at, priority_value, priority_label)
+                        VALUES (:id, :title, :description, :status, :createdAt, :updatedAt, :priorityValue, :priorityLabel)
+                        """)
+                .bind("id", task.getId())
+                .bind("title", task.getTitle())
+                .bind("description", task.getDescription())
+                .bind("status", task.getStatus().name())
+                .bind("createdAt", task.getCreatedAt())
+                .bind("updatedAt", task.getCreatedAt())
+                .bind("priorityValue", priority.getValue())
+                .bind("priorityLabel", priority.getLabel())
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(task);
+    }
+
+    // Compare-and-set on the status: only updates the row if nobody changed the status since it was read.
+    // Emits the number of updated rows (0 or 1).
+    public Mono<Long> updateStatus(Task updated, Task.TaskStatus expectedStatus) {
+        return databaseClient.sql("""
+                        UPDATE tasks
+                        SET status = :status, priority_value = :priorityValue, priority_label = :priorityLabel, updated_at = :updatedAt,
+                            version = version + 1
+                        WHERE id = :id AND status = :expectedStatus
+                        """)
+                .bind("status", updated.getStatus().name())
+                .bind("priorityValue", updated.getPriorityValue())
+                .bind("priorityLabel", updated.getPriorityLabel())
+                .bind("updatedAt", updated.getUpdatedAt())
+                .bind("id", updated.getId())
+                .bind("expectedStatus", expectedStatus.name())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(UUID id) {
+        return databaseClient.sql("DELETE FROM tasks WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static Task toTask(Readable row) {
+        return Task.builder()
+                .id(row.get("id", UUID.class))
+                .title(row.get("title", String.class))
+                .description(row.get("description", String.class))
+                .status(Task.TaskStatus.valueOf(row.get("status", String.class)))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .priorityValue(row.get("priority_value", Integer.class))
+                .priorityLabel(row.get("priority_label", String.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+
+}
@@ -0,0 +1,25 @@
+package tr.com.rsakin.taskmanagementapp.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import tr.com.rsakin.taskmanagementapp.model.entity.TaskOutboxEvent;
+
+import java.util.List;
+
+@Repository
+public interface TaskOutboxRepository extends JpaRepository<TaskOutboxEvent, Long> {
+
+    // Oldest events first, locked FOR UPDATE SKIP LOCKED: rows another relay instance is working on are skipped
+    // instead of waited for, so several instances drain the outbox side by side without handing out an event twice.
+    // Native, because Hibernate renders PESSIMISTIC_WRITE as FOR NO KEY UPDATE on PostgreSQL, which H2 cannot parse.
+    @Query(value = """
+            SELECT * FROM task_outbox
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<TaskOutboxEvent> lockNextBatch(@Param("limit") int limit);
+
+}
@@ -1,20 +1,34 @@
 package tr.com.rsakin.taskmanagementapp.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import tr.com.rsakin.taskmanagementapp.model.entity.Task;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, UUID> {
+public interface TaskRepository extends JpaRepository<Task, UUID>, TaskStatusRepository {
+
+    int STREAM_FETCH_SIZE = 500;
 
     // Standard JPA method queries
+    // The status and priority lists are served from the query cache (ids) and the Task region (state)
+    // until a write to the tasks table invalidates them
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Task> findByStatus(Task.TaskStatus status);
 
     List<Task> findByTitleContainingIgnoreCase(String title);
@@ -25,13 +39,185 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
 
     List<Task> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
 
+    // Keyset pagination: first pages, ordered by (createdAt DESC, id DESC)
+    List<Task> findAllByOrderByCreatedAtDescIdDesc(Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Task> findByStatusOrderByCreatedAtDescIdDesc(Task.TaskStatus status, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Task> findByPriorityValueOrderByCreatedAtDescIdDesc(int priorityValue, Limit limit);
+
     // JPQL queries
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT t FROM Task t WHERE t.priorityValue = :value ORDER BY t.createdAt DESC")
     List<Task> findTasksByPriorityValue(@Param("value") int priorityValue);
 
+    @Query("SELECT t.priorityValue, COUNT(t) FROM Task t GROUP BY t.priorityValue")
+    List<Object[]> countByPriorityValue();
+
     @Query("SELECT t FROM Task t WHERE t.createdAt < :date AND t.status != 'COMPLETED'")
     List<Task> findOverdueTasks(@Param("date") LocalDateTime date);
 
+    // Keyset pagination: pages after a cursor, seeking past the last (createdAt, id) seen
+    @Query("""
+            SELECT t FROM Task t
+            WHERE t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)
+            ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    List<Task> findPageAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            SELECT t FROM Task t
+            WHERE t.status = :status
+            AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id))
+            ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    List<Task> findPageByStatusAfter(
+            @Param("status") Task.TaskStatus status,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            SELECT t FROM Task t
+            WHERE t.priorityValue = :value
+            AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id))
+            ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    List<Task> findPageByPriorityValueAfter(
+            @Param("value") int priorityValue,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            Limit limit);
+
+    // Column projections for the list endpoints (?fields=): only what a task list renders, plus createdAt for the cursor.
+    // The description is never read and no entities are loaded; same order and cursors as the full pages above.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<TaskSummary> findSummariesByOrderByCreatedAtDescIdDesc(Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<TaskSummary> findSummariesByStatusOrderByCreatedAtDescIdDesc(Task.TaskStatus status, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<TaskSummary> findSummariesByPriorityValueOrderByCreatedAtDescIdDesc(int priorityValue, Limit limit);
+
+    List<TaskSummary> findSummariesByIdIn(Collection<UUID> ids);
+
+    @Query("""
+            SELECT new tr.com.rsakin.taskmanagementapp.repository.TaskRepository$TaskSummary(t.id, t.title, t.status, t.priorityValue, t.createdAt)
+            FROM Task t
+            WHERE t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)
+            ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    List<TaskSummary> findSummaryPageAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            SELECT new tr.com.rsakin.taskmanagementapp.repository.TaskRepository$TaskSummary(t.id, t.title, t.status, t.priorityValue, t.createdAt)
+            FROM Task t
+            WHERE t.status = :status
+            AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id))
+            ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    List<TaskSummary> findSummaryPageByStatusAfter(
+            @Param("status") Task.TaskStatus status,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            SELECT new tr.com.rsakin.taskmanagementapp.repository.TaskRepository$TaskSummary(t.id, t.title, t.status, t.priorityValue, t.createdAt)
+            FROM Task t
+            WHERE t.priorityValue = :value
+            AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id))
+            ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    List<TaskSummary> findSummaryPageByPriorityValueAfter(
+            @Param("value") int priorityValue,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            Limit limit);
+
+    // Row of the summary projections; the priority is read from the stored priority_value, like on the entity
+    record TaskSummary(UUID id, String title, Task.TaskStatus status, int priorityValue, LocalDateTime createdAt) {
+
+        public Task.Priority priority() {
+            return Task.Priority.ofValue(priorityValue);
+        }
+    }
+
+    // Streaming query: rows are pulled from a server-side cursor STREAM_FETCH_SIZE at a time and loaded read-only
+    // (no dirty-checking snapshots). Must be consumed inside a transaction and closed afterwards.
+    // Callers set CacheStoreMode.BYPASS on the EntityManager first, so a full scan does not push the hot tasks
+    // out of the second-level cache (Hibernate ignores cache hints on the query itself when streaming).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t")
+    Stream<Task> streamAll();
+
+    // Bulk status transitions, chunk by chunk: the candidates (id, status) are selected and locked first, in id order,
+    // so the following UPDATE changes exactly these rows and their previous statuses are known.
+    // Null filter parameters match everything; tasks already in the target status or BLOCKED are skipped.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT t.id, t.status FROM Task t
+            WHERE t.id IN :ids
+            AND (:currentStatus IS NULL OR t.status = :currentStatus)
+            AND (:priorityValue IS NULL OR t.priorityValue = :priorityValue)
+            AND t.status <> :targetStatus AND t.status <> 'BLOCKED'
+            ORDER BY t.id
+            """)
+    List<Object[]> lockTransitionCandidatesByIds(
+            @Param("ids") Collection<UUID> ids,
+            @Param("currentStatus") Task.TaskStatus currentStatus,
+            @Param("priorityValue") Integer priorityValue,
+            @Param("targetStatus") Task.TaskStatus targetStatus);
+
+    // Walks the table in id order; pass the last id of the previous chunk as afterId
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT t.id, t.status FROM Task t
+            WHERE t.id > :afterId
+            AND (:currentStatus IS NULL OR t.status = :currentStatus)
+            AND (:priorityValue IS NULL OR t.priorityValue = :priorityValue)
+            AND t.status <> :targetStatus AND t.status <> 'BLOCKED'
+            ORDER BY t.id
+            """)
+    List<Object[]> lockTransitionCandidatesAfter(
+            @Param("afterId") UUID afterId,
+            @Param("currentStatus") Task.TaskStatus currentStatus,
+            @Param("priorityValue") Integer priorityValue,
+            @Param("targetStatus") Task.TaskStatus targetStatus,
+            Limit limit);
+
+    // One set-based UPDATE per chunk; the priority fields are derived from the status, so they are rewritten too.
+    // Bypasses the persistence context, which is cleared afterwards so no stale tasks stay managed.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Task t
+            SET t.status = :status, t.priorityValue = :priorityValue, t.priorityLabel = :priorityLabel,
+                t.updatedAt = :updatedAt, t.version = t.version + 1
+            WHERE t.id IN :ids AND t.status <> 'BLOCKED'
+            """)
+    int updateStatusByIds(
+            @Param("ids") Collection<UUID> ids,
+            @Param("status") Task.TaskStatus status,
+            @Param("priorityValue") int priorityValue,
+            @Param("priorityLabel") String priorityLabel,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
     // Native SQL queries
     @Query(value = """
             SELECT * FROM tasks
@@ -0,0 +1,30 @@
+package tr.com.rsakin.taskmanagementapp.repository;
+
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+// Status compare-and-set, part of TaskRepository (implemented in TaskStatusRepositoryImpl)
+public interface TaskStatusRepository {
+
+    // expectedVersion of compareAndSetStatus that matches every version
+    long ANY_VERSION = -1;
+
+    // Changes the status of the task unless it is BLOCKED or, if expectedVersion is not ANY_VERSION, it has another version.
+    // Returns the updated task and the status it had before, or nothing if the task is missing or a precondition failed.
+    // The task is not left in the persistence context; callers evict it from the second-level cache.
+    Optional<StatusTransition> compareAndSetStatus(
+            UUID id,
+            Task.TaskStatus status,
+            int priorityValue,
+            String priorityLabel,
+            LocalDateTime updatedAt,
+            long expectedVersion);
+
+    // The task after the update plus the status it had before
+    record StatusTransition(Task task, Task.TaskStatus previousStatus) {
+    }
+
+}
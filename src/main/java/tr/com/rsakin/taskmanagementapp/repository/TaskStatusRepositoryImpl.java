@@ -0,0 +1,133 @@
+package tr.com.rsakin.taskmanagementapp.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.hibernate.query.NativeQuery;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// On PostgreSQL the compare-and-set is a single statement: the CTE locks the row and captures its status, the UPDATE
+// applies the preconditions and RETURNING hands back the row, no read before the write. It runs as a query, so
+// Hibernate does not see the write and leaves the second-level cache alone.
+// Other databases (H2 in the tests and the embedded load test) have neither UPDATE ... FROM nor RETURNING: there the
+// row is read with a write lock, the preconditions are checked on it and a JPQL UPDATE on id and version applies the
+// change, in the caller's transaction. Hibernate evicts the whole Task region after such a bulk UPDATE.
+class TaskStatusRepositoryImpl implements TaskStatusRepository {
+
+    private static final String COMPARE_AND_SET_RETURNING = """
+            WITH previous AS (
+                SELECT id, status FROM tasks WHERE id = :id FOR UPDATE
+            )
+            UPDATE tasks t
+            SET status = :status, priority_value = :priorityValue, priority_label = :priorityLabel,
+                updated_at = :updatedAt, version = t.version + 1
+            FROM previous
+            WHERE t.id = previous.id
+            AND t.status <> 'BLOCKED'
+            AND (:expectedVersion = -1 OR t.version = :expectedVersion)
+            RETURNING t.id, t.title, t.description, t.status, t.created_at, t.updated_at,
+                      t.priority_value, t.priority_label, t.version, previous.status AS previous_status
+            """;
+
+    private final EntityManager entityManager;
+    private final boolean returningSupported;
+
+    TaskStatusRepositoryImpl(EntityManager entityManager, DataSource dataSource) {
+        this.entityManager = entityManager;
+        this.returningSupported = "PostgreSQL".equals(databaseProductName(dataSource));
+    }
+
+    @Override
+    public Optional<StatusTransition> compareAndSetStatus(UUID id, Task.TaskStatus status, int priorityValue,
+                                                          String priorityLabel, LocalDateTime updatedAt, long expectedVersion) {
+        return returningSupported
+                ? compareAndSetReturning(id, status, priorityValue, priorityLabel, updatedAt, expectedVersion)
+                : lockAndCompareAndSet(id, status, priorityValue, priorityLabel, updatedAt, expectedVersion);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<StatusTransition> compareAndSetReturning(UUID id, Task.TaskStatus status, int priorityValue,
+                                                              String priorityLabel, LocalDateTime updatedAt, long expectedVersion) {
+        List<Object[]> rows = entityManager.createNativeQuery(COMPARE_AND_SET_RETURNING)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", UUID.class)
+                .addScalar("title", String.class)
+                .addScalar("description", String.class)
+                .addScalar("status", String.class)
+                .addScalar("created_at", LocalDateTime.class)
+                .addScalar("updated_at", LocalDateTime.class)
+                .addScalar("priority_value", Integer.class)
+                .addScalar("priority_label", String.class)
+                .addScalar("version", Long.class)
+                .addScalar("previous_status", String.class)
+                .setParameter("id", id)
+                .setParameter("status", status.name())
+                .setParameter("priorityValue", priorityValue)
+                .setParameter("priorityLabel", priorityLabel)
+                .setParameter("updatedAt", updatedAt)
+                .setParameter("expectedVersion", expectedVersion)
+                .getResultList();
+        return rows.stream().findFirst().map(row -> new StatusTransition(
+                new Task(
+                        (UUID) row[0],
+                        (String) row[1],
+                        (String) row[2],
+                        Task.TaskStatus.valueOf((String) row[3]),
+                        (LocalDateTime) row[4],
+                        (LocalDateTime) row[5],
+                        (Integer) row[6],
+                        (String) row[7],
+                        (Long) row[8]),
+                Task.TaskStatus.valueOf((String) row[9])));
+    }
+
+    private Optional<StatusTransition> lockAndCompareAndSet(UUID id, Task.TaskStatus status, int priorityValue,
+                                                            String priorityLabel, LocalDateTime updatedAt, long expectedVersion) {
+        Task current = entityManager.find(Task.class, id, LockModeType.PESSIMISTIC_WRITE);
+        if (current == null
+                || current.getStatus() == Task.TaskStatus.BLOCKED
+                || (expectedVersion != ANY_VERSION && current.getVersion() != expectedVersion)) {
+            return Optional.empty();
+        }
+        // The UPDATE bypasses the persistence context, which would otherwise keep the old state
+        entityManager.detach(current);
+
+        int updated = entityManager.createQuery("""
+                        UPDATE Task t
+                        SET t.status = :status, t.priorityValue = :priorityValue, t.priorityLabel = :priorityLabel,
+                            t.updatedAt = :updatedAt, t.version = t.version + 1
+                        WHERE t.id = :id AND t.version = :version AND t.status <> 'BLOCKED'
+                        """)
+                .setParameter("id", id)
+                .setParameter("version", current.getVersion())
+                .setParameter("status", status)
+                .setParameter("priorityValue", priorityValue)
+                .setParameter("priorityLabel", priorityLabel)
+                .setParameter("updatedAt", updatedAt)
+                .executeUpdate();
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new StatusTransition(
+                new Task(id, current.getTitle(), current.getDescription(), status, current.getCreatedAt(), updatedAt,
+                        priorityValue, priorityLabel, current.getVersion() + 1),
+                current.getStatus()));
+    }
+
+    private static String databaseProductName(DataSource dataSource) {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Cannot determine the database of the task store", e);
+        }
+    }
+
+}
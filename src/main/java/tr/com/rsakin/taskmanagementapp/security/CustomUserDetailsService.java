@@ -1,25 +1,59 @@
 package tr.com.rsakin.taskmanagementapp.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
+import tr.com.rsakin.taskmanagementapp.repository.AppUserRepository;
 
 @Component
 public class CustomUserDetailsService implements UserDetailsService {
 
+    private final AppUserRepository appUserRepository;
+
+    // Loaded accounts, so authenticated requests do not hit the user store every time.
+    // Only existing users are cached; call evict() when an account changes to see it before the TTL.
+    private final Cache<String, UserDetails> userCache;
+
+    public CustomUserDetailsService(AppUserRepository appUserRepository, UserStoreProperties properties) {
+        this.appUserRepository = appUserRepository;
+        this.userCache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.userCache().ttl())
+                .maximumSize(properties.userCache().maxSize())
+                .build();
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        if (!username.equals("user")) {
+        UserDetails userDetails = userCache.get(username, this::loadFromStore);
+        if (userDetails == null) {
             throw new UsernameNotFoundException("User not found");
         }
-        return User.builder()
-                .username("user")
-                .password(new BCryptPasswordEncoder().encode("password"))
-                .roles("USER")
-                .build();
+        // Authentication erases the credentials of the returned principal, so never hand out the cached instance
+        return User.withUserDetails(userDetails).build();
+    }
+
+    public void evict(String username) {
+        userCache.invalidate(username);
+    }
+
+    public void evictAll() {
+        userCache.invalidateAll();
+    }
+
+    // The stored password is already a BCrypt hash, nothing is encoded here
+    private UserDetails loadFromStore(String username) {
+        return appUserRepository.findById(username)
+                .map(user -> User.builder()
+                        .username(user.getUsername())
+                        .password(user.getPasswordHash())
+                        .roles(user.getRoleList().toArray(String[]::new))
+                        .disabled(!user.isEnabled())
+                        .build())
+                .orElse(null);
     }
 
 }
@@ -1,5 +1,6 @@
 package tr.com.rsakin.taskmanagementapp.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -29,12 +30,18 @@ class JwtAuthenticationFilter extends OncePerRequestFilter {
         String authorizationHeader = request.getHeader("Authorization");
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             String token = authorizationHeader.substring(7);
-            String username = jwtUtil.extractUsername(token);
+            // Verify and parse the token once, then work on the claims
+            Claims claims = jwtUtil.extractAllClaims(token);
+            String username = claims.getSubject();
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                // The signed claims already carry the authorities; older tokens without them fall back to the user store
+                UserDetails userDetails = jwtUtil.extractUserDetails(claims);
+                if (userDetails == null) {
+                    userDetails = userDetailsService.loadUserByUsername(username);
+                }
 
-                if (jwtUtil.validateToken(token, userDetails)) {
+                if (jwtUtil.validateToken(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
@@ -1,14 +1,31 @@
 package tr.com.rsakin.taskmanagementapp.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
@@ -16,11 +33,54 @@ public class JwtUtil {
 
     private final String SECRET_KEY = "mysecretkeymysecretkeymysecretkeymysecretkey";
     private final long EXPIRATION_TIME = 1000 * 60 * 60;
-    private final Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    private final int MAX_CACHED_TOKENS = 10_000;
+    private static final String ROLES_CLAIM = "roles";
+    // Never used directly, only cloned: a MessageDigest is not thread-safe
+    private static final MessageDigest SHA_256 = sha256();
+    private final SecretKey key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+
+    // Parsers are immutable and thread-safe, so one is built up front instead of per call
+    private final JwtParser parser = Jwts.parser().verifyWith(key).build();
+
+    // Claims of tokens whose signature was already verified, keyed by the SHA-256 of the token
+    // (so the cache holds fixed-size keys and no usable bearer tokens).
+    // Each entry expires together with its token, so a cache hit is always a still-valid token.
+    private final Cache<String, Claims> verifiedClaims = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_TOKENS)
+            .expireAfter(new Expiry<String, Claims>() {
+                @Override
+                public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+                    return timeToExpiry(claims).toNanos();
+                }
+
+                @Override
+                public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+                    return timeToExpiry(claims).toNanos();
+                }
+
+                @Override
+                public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
+    // jwt.validation{result}: cached (digest lookup only), verified (signature checked) or rejected
+    private final Timer cachedValidationTimer;
+    private final Timer verifiedValidationTimer;
+    private final Timer rejectedValidationTimer;
+
+    public JwtUtil(MeterRegistry meterRegistry) {
+        this.cachedValidationTimer = validationTimer("cached", meterRegistry);
+        this.verifiedValidationTimer = validationTimer("verified", meterRegistry);
+        this.rejectedValidationTimer = validationTimer("rejected", meterRegistry);
+    }
 
     public String generateToken(UserDetails userDetails) {
         return Jwts.builder()
                 .setSubject(userDetails.getUsername())
+                // Authorities travel in the token, so authenticated requests need no user lookup
+                .claim(ROLES_CLAIM, userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -36,15 +96,91 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        Claims claims = Jwts.parser().setSigningKey(key).build().parseClaimsJws(token).getBody();
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(extractAllClaims(token));
+    }
+
+    // Verifies the token at most once while it is cached; throws JwtException for invalid or expired tokens
+    public Claims extractAllClaims(String token) {
+        long start = System.nanoTime();
+        String digest = digest(token);
+        Claims claims = verifiedClaims.getIfPresent(digest);
+        if (claims != null) {
+            cachedValidationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return claims;
+        }
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (RuntimeException e) {
+            rejectedValidationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        verifiedClaims.put(digest, claims);
+        verifiedValidationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return claims;
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        return extractUsername(token).equals(userDetails.getUsername()) && !isTokenExpired(token);
+        return validateToken(extractAllClaims(token), userDetails);
+    }
+
+    public boolean validateToken(Claims claims, UserDetails userDetails) {
+        return userDetails.getUsername().equals(claims.getSubject()) && !isTokenExpired(claims);
+    }
+
+    // Principal built from the verified claims alone, or null for tokens issued without the roles claim.
+    // Role or account changes take effect with the next token (at most EXPIRATION_TIME later).
+    public UserDetails extractUserDetails(Claims claims) {
+        if (claims.getSubject() == null || !(claims.get(ROLES_CLAIM) instanceof Collection<?> roles)) {
+            return null;
+        }
+        List<SimpleGrantedAuthority> authorities = roles.stream()
+                .map(role -> new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        return User.withUsername(claims.getSubject())
+                .password("")
+                .authorities(authorities)
+                .build();
+    }
+
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration() != null && claims.getExpiration().before(new Date());
+    }
+
+    private Duration timeToExpiry(Claims claims) {
+        if (claims.getExpiration() == null) {
+            return Duration.ofMillis(EXPIRATION_TIME);
+        }
+        long millis = claims.getExpiration().getTime() - System.currentTimeMillis();
+        return Duration.ofMillis(Math.max(0, Math.min(millis, EXPIRATION_TIME)));
+    }
+
+    private static Timer validationTimer(String result, MeterRegistry meterRegistry) {
+        return Timer.builder("jwt.validation")
+                .description("Time to verify a bearer token and read its claims")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static String digest(String token) {
+        byte[] hash = newSha256().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    // A clone of the prototype skips the provider lookup of MessageDigest.getInstance on every request.
+    // Cloning rather than a ThreadLocal, as with virtual threads every request runs on a new thread
+    private static MessageDigest newSha256() {
+        try {
+            return (MessageDigest) SHA_256.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 digest cannot be cloned", e);
+        }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
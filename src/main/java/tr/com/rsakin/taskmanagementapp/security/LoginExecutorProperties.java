@@ -0,0 +1,12 @@
+package tr.com.rsakin.taskmanagementapp.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+// app.security.login.* settings: size of the pool that verifies login passwords and how many logins may wait for it
+@ConfigurationProperties(prefix = "app.security.login")
+public record LoginExecutorProperties(
+        @DefaultValue("2") int threads,
+        @DefaultValue("50") int queueCapacity,
+        @DefaultValue("1") int retryAfterSeconds) {
+}
@@ -0,0 +1,75 @@
+package tr.com.rsakin.taskmanagementapp.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Runs password verification (BCrypt, deliberately CPU heavy) on its own small pool instead of the servlet threads.
+// The queue is bounded and full means rejected, so a login storm is turned away early
+// rather than occupying every Tomcat worker and stalling the task endpoints.
+@Component
+public class PasswordVerificationExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final Timer verificationTimer;
+    private final Counter rejectionCounter;
+
+    public PasswordVerificationExecutor(LoginExecutorProperties properties, MeterRegistry meterRegistry) {
+        this.executor = new ThreadPoolExecutor(
+                properties.threads(), properties.threads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                threadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.login.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Logins waiting for password verification")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password verifications in progress")
+                .register(meterRegistry);
+        this.verificationTimer = Timer.builder("auth.login.verification")
+                .description("Time spent verifying login passwords")
+                .register(meterRegistry);
+        this.rejectionCounter = Counter.builder("auth.login.rejected")
+                .description("Logins rejected because the verification queue was full")
+                .register(meterRegistry);
+    }
+
+    // Throws RejectedExecutionException right away when the pool and its queue are full
+    public <T> CompletableFuture<T> submit(Supplier<T> verification) {
+        try {
+            return CompletableFuture.supplyAsync(() -> verificationTimer.record(verification), executor);
+        } catch (RejectedExecutionException e) {
+            rejectionCounter.increment();
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "login-verify-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
@@ -0,0 +1,26 @@
+package tr.com.rsakin.taskmanagementapp.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+// app.security.* settings: accounts to seed into the user store and the UserDetails cache
+@ConfigurationProperties(prefix = "app.security")
+public record UserStoreProperties(
+        @DefaultValue List<SeedUser> users,
+        @DefaultValue UserCache userCache) {
+
+    // password must already be a BCrypt hash, nothing is hashed at runtime
+    public record SeedUser(
+            String username,
+            String password,
+            List<String> roles) {
+    }
+
+    public record UserCache(
+            @DefaultValue("PT5M") Duration ttl,
+            @DefaultValue("10000") long maxSize) {
+    }
+}
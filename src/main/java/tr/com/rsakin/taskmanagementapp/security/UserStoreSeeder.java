@@ -0,0 +1,38 @@
+package tr.com.rsakin.taskmanagementapp.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import tr.com.rsakin.taskmanagementapp.model.entity.AppUser;
+import tr.com.rsakin.taskmanagementapp.repository.AppUserRepository;
+
+// Creates the configured accounts (app.security.users) that do not exist in the user store yet
+@Slf4j
+@Component
+class UserStoreSeeder {
+
+    private final AppUserRepository appUserRepository;
+    private final UserStoreProperties properties;
+
+    UserStoreSeeder(AppUserRepository appUserRepository, UserStoreProperties properties) {
+        this.appUserRepository = appUserRepository;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedUsers() {
+        for (UserStoreProperties.SeedUser user : properties.users()) {
+            if (appUserRepository.existsById(user.username())) {
+                continue;
+            }
+            appUserRepository.save(AppUser.builder()
+                    .username(user.username())
+                    .passwordHash(user.password())
+                    .roles(String.join(",", user.roles()))
+                    .enabled(true)
+                    .build());
+            log.info("Seeded user account '{}'", user.username());
+        }
+    }
+}
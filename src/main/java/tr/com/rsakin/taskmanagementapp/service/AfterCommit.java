@@ -0,0 +1,25 @@
+package tr.com.rsakin.taskmanagementapp.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Runs work that must only see committed writes once the surrounding transaction commits, and not at all on rollback.
+// Outside a transaction (R2DBC writes, unit tests) there is nothing to wait for, so it runs right away.
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
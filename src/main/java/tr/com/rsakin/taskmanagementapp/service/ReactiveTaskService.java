@@ -4,10 +4,9 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+import tr.com.rsakin.taskmanagementapp.model.exception.TaskVersionConflictException;
+import tr.com.rsakin.taskmanagementapp.repository.ReactiveTaskRepository;
 
-import java.time.Duration;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 // Reactive Programming Concepts:
@@ -17,13 +16,32 @@ import java.util.UUID;
 // - Backpressure: A flow control mechanism that prevents overwhelming consumers by regulating the rate of data emission.
 @Service
 public class ReactiveTaskService {
-    // In-memory storage (will replace with reactive DB in later weeks)
-    // HashMap vs LinkedHashMap:
-    // HashMap is a non-thread-safe implementation, while LinkedHashMap is thread-safe and provides better performance for concurrent operations.
-    // HashMap is faster for non-concurrent operations, while LinkedHashMap is faster for concurrent operations.
-    // LinkedHashMap is more memory-efficient than HashMap, as it keeps the order of insertion.
-    // We can use whether HashMap or LinkedHashMap depending on the requirements
-    private final Map<UUID, Task> taskStore = new HashMap<>();
+
+    public static final int MAX_TOP_PRIORITY_TASKS = 100;
+
+    // A concurrent status change between the read and the conditional update makes us re-read and try again
+    private static final int MAX_STATUS_UPDATE_ATTEMPTS = 3;
+
+    // Reactive DB access over R2DBC: no thread is blocked while waiting for the database,
+    // and rows are fetched as fast as the subscriber requests them (backpressure all the way down)
+    private final ReactiveTaskRepository taskRepository;
+    private final TaskCounters taskCounters;
+    private final TaskSearchIndex taskSearchIndex;
+    // R2DBC writes bypass Hibernate, so its second-level cache is told explicitly
+    private final TaskCacheInvalidator taskCacheInvalidator;
+    private final TaskEventBus taskEventBus;
+
+    public ReactiveTaskService(ReactiveTaskRepository taskRepository,
+                               TaskCounters taskCounters,
+                               TaskSearchIndex taskSearchIndex,
+                               TaskCacheInvalidator taskCacheInvalidator,
+                               TaskEventBus taskEventBus) {
+        this.taskRepository = taskRepository;
+        this.taskCounters = taskCounters;
+        this.taskSearchIndex = taskSearchIndex;
+        this.taskCacheInvalidator = taskCacheInvalidator;
+        this.taskEventBus = taskEventBus;
+    }
 
     public Mono<Task> createTask(String title, String description) {
         return Mono.fromCallable(() -> {
@@ -36,38 +54,71 @@ public class ReactiveTaskService {
                 throw new IllegalArgumentException("Task description cannot be null");
             }
 
-            Task task = Task.builder()
+            return Task.builder()
                     .title(title)
                     .description(description)
                     .build();
-
-            taskStore.put(task.getId(), task);
-            return task;
-        });
+        })
+                .flatMap(taskRepository::insert)
+                .doOnNext(taskCounters::recordCreated)
+                .doOnNext(taskSearchIndex::add)
+                .doOnNext(task -> taskCacheInvalidator.taskCreated())
+                .doOnNext(task -> taskEventBus.publish(TaskEvent.created(task)));
     }
 
     public Flux<Task> getAllTasks() {
-//        return Flux.fromIterable(taskStore.values());
-        return Flux.fromIterable(taskStore.values())
-                .delayElements(Duration.ofSeconds(1));
+        return taskRepository.findAll();
     }
 
     public Mono<Task> getTaskById(UUID id) {
-        return Mono.justOrEmpty(taskStore.get(id));
+        return taskRepository.findById(id);
+    }
+
+    public Flux<Task> getTasksByStatus(Task.TaskStatus status) {
+        return taskRepository.findByStatus(status);
+    }
+
+    public Flux<Task> getTasksByPriority(int priorityValue) {
+        return taskRepository.findByPriorityValue(priorityValue);
+    }
+
+    public Flux<Task> getTopPriorityTasks(int limit) {
+        return taskRepository.findTopByPriority(Math.clamp(limit, 1, MAX_TOP_PRIORITY_TASKS));
     }
 
     public Mono<Task> updateTaskStatus(UUID id, Task.TaskStatus newStatus) {
-        return Mono.justOrEmpty(taskStore.get(id))
+        // Deferred so every repeat reads the current row again
+        return Mono.defer(() -> taskRepository.findById(id))
                 .switchIfEmpty(Mono.error(new IllegalArgumentException("Task not found with ID: " + id)))
-                .map(task -> {
+                .flatMap(task -> {
                     Task updatedTask = task.updateStatus(newStatus);
-                    taskStore.put(id, updatedTask);
-                    return updatedTask;
-                });
+                    return taskRepository.updateStatus(updatedTask, task.getStatus())
+                            .filter(updatedRows -> updatedRows > 0)
+                            .map(updatedRows -> {
+                                taskCacheInvalidator.taskChanged(id);
+                                taskCounters.recordStatusChange(task.getStatus(), newStatus);
+                                taskEventBus.publish(TaskEvent.statusChanged(updatedTask, task.getStatus()));
+                                return updatedTask;
+                            });
+                })
+                // Lost the race every time: the task exists but other writers kept winning, a conflict (409) as on
+                // the JPA path, rather than repeatWhenEmpty's IllegalStateException
+                .repeat(MAX_STATUS_UPDATE_ATTEMPTS)
+                .next()
+                .switchIfEmpty(Mono.error(new TaskVersionConflictException(id, MAX_STATUS_UPDATE_ATTEMPTS + 1)));
     }
 
     public Mono<Void> deleteTask(UUID id) {
-        return Mono.fromRunnable(() -> taskStore.remove(id));
+        return taskRepository.findById(id)
+                .flatMap(task -> taskRepository.deleteById(id)
+                        .filter(deletedRows -> deletedRows > 0)
+                        .doOnNext(deletedRows -> {
+                            taskCacheInvalidator.taskChanged(id);
+                            taskCounters.recordDeleted(task);
+                            taskSearchIndex.remove(id);
+                            taskEventBus.publish(TaskEvent.deleted(task));
+                        }))
+                .then();
     }
 
 }
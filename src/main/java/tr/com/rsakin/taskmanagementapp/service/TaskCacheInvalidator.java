@@ -0,0 +1,49 @@
+package tr.com.rsakin.taskmanagementapp.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+
+import java.util.UUID;
+
+// Evicts tasks from the Hibernate second-level cache after writes Hibernate does not see:
+// the compare-and-set status update (a native query on PostgreSQL) and everything the reactive API writes over R2DBC.
+// Writes through the EntityManager and JPQL bulk updates are invalidated by Hibernate itself.
+@Component
+public class TaskCacheInvalidator {
+
+    private final Cache cache;
+
+    public TaskCacheInvalidator(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+
+    // The task is evicted right away and once more after commit: a reader that loaded the old row
+    // before the commit may have put it back in between. Cached list queries may contain the task too,
+    // so they are dropped as well (like Hibernate does on any write to the tasks table).
+    public void taskChanged(UUID id) {
+        evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(id);
+                }
+            });
+        }
+    }
+
+    // A new task changes no cached entity, only the list queries it now belongs to
+    public void taskCreated() {
+        cache.evictDefaultQueryRegion();
+    }
+
+    private void evict(UUID id) {
+        cache.evictEntityData(Task.class, id);
+        cache.evictDefaultQueryRegion();
+    }
+
+}
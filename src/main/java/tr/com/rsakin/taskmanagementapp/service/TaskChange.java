@@ -0,0 +1,36 @@
+package tr.com.rsakin.taskmanagementapp.service;
+
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+
+// One element of the task change feed, as sent to its clients.
+// id is the event id to resume from; snapshot rows and heartbeats have none.
+// task is the state after the change (for DELETED the last state before it); markers and heartbeats have none.
+public record TaskChange(String id, Kind kind, Task task) {
+
+    static final TaskChange HEARTBEAT = new TaskChange(null, Kind.HEARTBEAT, null);
+
+    public enum Kind {
+        SNAPSHOT, SNAPSHOT_END, CREATED, STATUS_CHANGED, DELETED, HEARTBEAT;
+
+        static Kind of(TaskEvent.Type type) {
+            return switch (type) {
+                case CREATED -> CREATED;
+                case STATUS_CHANGED -> STATUS_CHANGED;
+                case DELETED -> DELETED;
+            };
+        }
+
+        // Name of the event on the wire: snapshot, snapshot-end, created, status-changed, deleted
+        public String eventName() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    static TaskChange snapshot(Task task) {
+        return new TaskChange(null, Kind.SNAPSHOT, task);
+    }
+
+    static TaskChange snapshotEnd(String id) {
+        return new TaskChange(id, Kind.SNAPSHOT_END, null);
+    }
+}
@@ -0,0 +1,216 @@
+package tr.com.rsakin.taskmanagementapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import tr.com.rsakin.taskmanagementapp.config.TaskChangeFeedProperties;
+import tr.com.rsakin.taskmanagementapp.repository.ReactiveTaskRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Live feed of task changes for any number of clients.
+// One TaskEventBus subscription feeds one multicast sink shared by all clients, so a thousand dashboards
+// cost one upstream stream instead of a thousand polls.
+// A new client gets a snapshot of all tasks, a snapshot-end marker, then every change committed since.
+// A reconnecting client that sends the id of the last event it saw gets only what it missed, from a bounded
+// history of recent changes. It gets a fresh snapshot when that history no longer reaches back far enough,
+// or when the id is from before a restart.
+// Changes carry the whole task, so a change that also made it into the snapshot can be applied twice harmlessly.
+// Every client has a bounded buffer of its own, and a client that falls behind loses changes per
+// slowSubscriberPolicy instead of holding up the others. Ids are consecutive per process, so a client that
+// notices a gap can reconnect from the id before it.
+// While no change is emitted for heartbeatInterval, one heartbeat goes through the sink to keep idle connections open.
+@Component
+public class TaskChangeFeed implements DisposableBean {
+
+    // What a client's buffer drops once it is full
+    public enum SlowSubscriberPolicy {
+        // The new change: the client keeps the older changes it has not read yet
+        DROP,
+        // The oldest buffered change but the one next in line: the client catches up on the most recent ones
+        LATEST
+    }
+
+    private final ReactiveTaskRepository taskRepository;
+    private final Sinks.Many<TaskChange> sink = Sinks.many().multicast().directBestEffort();
+    // Event ids are <epoch>-<sequence>; ids from an earlier process never match this one
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final int subscriberBufferSize;
+    private final BufferOverflowStrategy overflowStrategy;
+    private final long heartbeatIntervalNanos;
+    private final Disposable heartbeats;
+
+    // The changes with the last history.length sequences up to lastSequence, at sequence % history.length.
+    // Guarded by lock, which is also held while emitting: a client connecting meanwhile sees every change once
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TaskChange[] history;
+    private long lastSequence;
+    private long lastEmittedAt = System.nanoTime();
+
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter droppedCounter;
+    private final Counter snapshotCounter;
+    private final Counter resumeCounter;
+
+    public TaskChangeFeed(ReactiveTaskRepository taskRepository,
+                          TaskEventBus taskEventBus,
+                          TaskChangeFeedProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        // The publish() connecting each client to the sink holds the change next in line, outside the buffer
+        this.subscriberBufferSize = Math.max(properties.subscriberBufferSize() - 1, 1);
+        this.overflowStrategy = switch (properties.slowSubscriberPolicy()) {
+            case DROP -> BufferOverflowStrategy.DROP_LATEST;
+            case LATEST -> BufferOverflowStrategy.DROP_OLDEST;
+        };
+        this.heartbeatIntervalNanos = properties.heartbeatInterval().toNanos();
+        this.history = new TaskChange[properties.historySize()];
+
+        Gauge.builder("task.feed.subscribers", subscribers, AtomicInteger::get)
+                .description("Clients connected to the task change feed")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("task.feed.dropped")
+                .description("Task changes dropped because a client's buffer was full")
+                .register(meterRegistry);
+        this.snapshotCounter = Counter.builder("task.feed.connections")
+                .tag("start", "snapshot")
+                .description("Clients connected to the task change feed")
+                .register(meterRegistry);
+        this.resumeCounter = Counter.builder("task.feed.connections")
+                .tag("start", "resume")
+                .description("Clients connected to the task change feed")
+                .register(meterRegistry);
+
+        taskEventBus.subscribe(this::append);
+        this.heartbeats = Schedulers.parallel().schedulePeriodically(
+                this::heartbeat, heartbeatIntervalNanos, heartbeatIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Snapshot then live changes, or only the changes after lastEventId when they can still be replayed.
+    // Never completes.
+    public Flux<TaskChange> changes(String lastEventId) {
+        return Flux.defer(() -> {
+            Disposable.Swap connection = Disposables.swap();
+            Flux<TaskChange> live;
+            Flux<TaskChange> head;
+            lock.lock();
+            try {
+                // Subscribed to the sink before the history is read, and no change can be emitted in between
+                live = sink.asFlux()
+                        .onBackpressureBuffer(subscriberBufferSize, this::dropped, overflowStrategy)
+                        .publish(1)
+                        .autoConnect(0, connection::update);
+                List<TaskChange> missed = missedSince(lastEventId);
+                if (missed != null) {
+                    resumeCounter.increment();
+                    head = Flux.fromIterable(missed);
+                } else {
+                    snapshotCounter.increment();
+                    head = snapshot(eventId(lastSequence));
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            subscribers.incrementAndGet();
+            // Nothing in between prefetches: what a slow client has not read yet stays in its own buffer
+            return head.concatWith(live)
+                    .doFinally(signal -> {
+                        connection.dispose();
+                        subscribers.decrementAndGet();
+                    });
+        });
+    }
+
+    // Called by the TaskEventBus consumer threads, once per committed change
+    void append(TaskEvent event) {
+        lock.lock();
+        try {
+            long sequence = ++lastSequence;
+            TaskChange change = new TaskChange(eventId(sequence), TaskChange.Kind.of(event.type()), event.task());
+            history[(int) (sequence % history.length)] = change;
+            // Fails only when no client is connected; the change stays in the history for the next one
+            sink.tryEmitNext(change);
+            lastEmittedAt = System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void heartbeat() {
+        lock.lock();
+        try {
+            if (System.nanoTime() - lastEmittedAt >= heartbeatIntervalNanos) {
+                sink.tryEmitNext(TaskChange.HEARTBEAT);
+                lastEmittedAt = System.nanoTime();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dropped(TaskChange change) {
+        if (change.kind() != TaskChange.Kind.HEARTBEAT) {
+            droppedCounter.increment();
+        }
+    }
+
+    // The snapshot-end marker carries the sequence the snapshot was started at, so resuming from it replays
+    // exactly the changes after that
+    private Flux<TaskChange> snapshot(String snapshotEndId) {
+        return taskRepository.findAll()
+                .map(TaskChange::snapshot)
+                .concatWith(Mono.just(TaskChange.snapshotEnd(snapshotEndId)));
+    }
+
+    // The changes after lastEventId, or null when they cannot all be replayed from the history.
+    // Unknown and malformed ids are treated like no id at all.
+    private List<TaskChange> missedSince(String lastEventId) {
+        if (lastEventId == null) {
+            return null;
+        }
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+            return null;
+        }
+        long sequence;
+        try {
+            sequence = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (sequence < lastSequence - history.length || sequence > lastSequence) {
+            return null;
+        }
+
+        List<TaskChange> missed = new ArrayList<>((int) (lastSequence - sequence));
+        for (long next = sequence + 1; next <= lastSequence; next++) {
+            missed.add(history[(int) (next % history.length)]);
+        }
+        return missed;
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.dispose();
+        sink.tryEmitComplete();
+    }
+
+}
@@ -0,0 +1,148 @@
+package tr.com.rsakin.taskmanagementapp.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskStatistics;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+import tr.com.rsakin.taskmanagementapp.repository.TaskRepository;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// In-memory task counters by status and priority value.
+// Seeded once from the database, then kept up to date by the TaskService write paths,
+// so statistics reads are O(1) and never touch the database.
+// LongAdder stripes its cells across threads, so concurrent writers do not contend on a single counter.
+// Writes are applied after commit; anything that still drifts (rolled back or out-of-band writes)
+// is corrected by the periodic reconciliation against the database.
+@Slf4j
+@Component
+public class TaskCounters {
+
+    // Priority values are 1..3, index 0 is unused
+    private static final int PRIORITY_SLOTS = 4;
+
+    private final TaskRepository taskRepository;
+    private final Map<Task.TaskStatus, LongAdder> byStatus = new EnumMap<>(Task.TaskStatus.class);
+    private final LongAdder[] byPriority = new LongAdder[PRIORITY_SLOTS];
+
+    private volatile boolean seeded;
+
+    public TaskCounters(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+        for (Task.TaskStatus status : Task.TaskStatus.values()) {
+            byStatus.put(status, new LongAdder());
+        }
+        for (int i = 0; i < PRIORITY_SLOTS; i++) {
+            byPriority[i] = new LongAdder();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            // Do not fail startup over statistics; the first read or the next scheduled run seeds them
+            log.warn("Could not seed task counters at startup", e);
+        }
+    }
+
+    // Adds the difference to the database instead of resetting, so increments racing with the
+    // reconciliation are not lost; transactions in flight at this moment are corrected on the next run.
+    @Scheduled(
+            initialDelayString = "${task.statistics.reconcile-interval:PT5M}",
+            fixedDelayString = "${task.statistics.reconcile-interval:PT5M}")
+    public synchronized void reconcile() {
+        Map<Task.TaskStatus, Long> statusCounts = new EnumMap<>(Task.TaskStatus.class);
+        for (Object[] row : taskRepository.getTaskStatusStatistics()) {
+            statusCounts.put(Task.TaskStatus.valueOf(row[0].toString()), ((Number) row[1]).longValue());
+        }
+        long[] priorityCounts = new long[PRIORITY_SLOTS];
+        for (Object[] row : taskRepository.countByPriorityValue()) {
+            int priorityValue = ((Number) row[0]).intValue();
+            if (priorityValue > 0 && priorityValue < PRIORITY_SLOTS) {
+                priorityCounts[priorityValue] = ((Number) row[1]).longValue();
+            }
+        }
+
+        long drift = 0;
+        for (Map.Entry<Task.TaskStatus, LongAdder> entry : byStatus.entrySet()) {
+            drift += Math.abs(adjustTo(entry.getValue(), statusCounts.getOrDefault(entry.getKey(), 0L)));
+        }
+        for (int i = 1; i < PRIORITY_SLOTS; i++) {
+            adjustTo(byPriority[i], priorityCounts[i]);
+        }
+
+        if (seeded && drift > 0) {
+            log.info("Task counters reconciled, corrected drift of {}", drift);
+        }
+        seeded = true;
+    }
+
+    private long adjustTo(LongAdder adder, long expected) {
+        long delta = expected - adder.sum();
+        adder.add(delta);
+        return delta;
+    }
+
+    // Rolled back writes must not be counted
+    public void recordCreated(Task task) {
+        Task.TaskStatus status = task.getStatus();
+        AfterCommit.run(() -> increment(status, 1));
+    }
+
+    public void recordDeleted(Task task) {
+        Task.TaskStatus status = task.getStatus();
+        AfterCommit.run(() -> increment(status, -1));
+    }
+
+    public void recordStatusChange(Task.TaskStatus from, Task.TaskStatus to) {
+        if (from == to) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            increment(from, -1);
+            increment(to, 1);
+        });
+    }
+
+    public TaskStatistics snapshot() {
+        ensureSeeded();
+        long pending = byStatus.get(Task.TaskStatus.PENDING).sum();
+        long inProgress = byStatus.get(Task.TaskStatus.IN_PROGRESS).sum();
+        long blocked = byStatus.get(Task.TaskStatus.BLOCKED).sum();
+        long completed = byStatus.get(Task.TaskStatus.COMPLETED).sum();
+        return new TaskStatistics(pending + inProgress + blocked + completed, pending, inProgress, blocked, completed);
+    }
+
+    public long countByStatus(Task.TaskStatus status) {
+        ensureSeeded();
+        return byStatus.get(status).sum();
+    }
+
+    public long countByPriority(int priorityValue) {
+        ensureSeeded();
+        if (priorityValue <= 0 || priorityValue >= PRIORITY_SLOTS) {
+            return 0;
+        }
+        return byPriority[priorityValue].sum();
+    }
+
+    // Reads before the ApplicationReadyEvent seeding (e.g. early requests) seed synchronously
+    private void ensureSeeded() {
+        if (!seeded) {
+            reconcile();
+        }
+    }
+
+    private void increment(Task.TaskStatus status, long delta) {
+        byStatus.get(status).add(delta);
+        byPriority[Task.priorityOf(status).getValue()].add(delta);
+    }
+
+}
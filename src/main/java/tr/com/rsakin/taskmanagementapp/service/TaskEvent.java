@@ -0,0 +1,35 @@
+package tr.com.rsakin.taskmanagementapp.service;
+
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+
+// A committed change to a task, as delivered to TaskEventBus subscribers.
+// task is the state after the change (for DELETED the last state before it);
+// previousStatus is only set for STATUS_CHANGED.
+public record TaskEvent(Type type, Task task, Task.TaskStatus previousStatus) {
+
+    public enum Type {
+        CREATED, STATUS_CHANGED, DELETED
+    }
+
+    public static TaskEvent created(Task task) {
+        return new TaskEvent(Type.CREATED, task, null);
+    }
+
+    public static TaskEvent statusChanged(Task task, Task.TaskStatus previousStatus) {
+        return new TaskEvent(Type.STATUS_CHANGED, task, previousStatus);
+    }
+
+    public static TaskEvent deleted(Task task) {
+        return new TaskEvent(Type.DELETED, task, null);
+    }
+
+    public boolean isCompletion() {
+        return type == Type.STATUS_CHANGED && task.getStatus() == Task.TaskStatus.COMPLETED;
+    }
+
+    // Folds a later event of the same type for the same task into this one:
+    // the latest state, but still the status the task had before the first change
+    TaskEvent coalesce(TaskEvent later) {
+        return new TaskEvent(type, later.task, previousStatus);
+    }
+}
@@ -0,0 +1,242 @@
+package tr.com.rsakin.taskmanagementapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import tr.com.rsakin.taskmanagementapp.config.TaskEventProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// Delivers task events to subscribers off the request path.
+// Events are put in a bounded ring buffer after the transaction commits (rolled back writes publish nothing)
+// and dispatched by consumerThreads threads of their own, so a slow or failing subscriber neither holds the
+// transaction and its connection open nor rolls the write back, however many subscribers there are.
+// With one consumer thread subscribers see events in commit order; with more, events are dispatched concurrently.
+// The buffer is in memory: events still waiting at shutdown get shutdownTimeout to drain, then they are lost.
+@Slf4j
+@Component
+public class TaskEventBus implements DisposableBean {
+
+    // What publishing does when the buffer is full
+    public enum OverflowPolicy {
+        // Wait up to blockTimeout for a free slot, then drop. Lossless unless the consumers fall far behind,
+        // but the committing thread waits meanwhile, and it still holds its pooled JDBC connection: the transaction
+        // releases it only in its cleanup after afterCommit and afterCompletion, and with open-in-view the request
+        // keeps it until it ends. A full buffer can so tie up a connection per writing request for blockTimeout
+        BLOCK,
+        // Drop the new event right away
+        DROP,
+        // Once full, a new event of the same type for a task that still has one waiting is merged into it, so a burst
+        // of changes to a few tasks takes a few slots; anything else is dropped. Never merges a completion with a
+        // change that is not one, so completion listeners see every completion that is not dropped. The default
+        COALESCE
+    }
+
+    private record CoalescingKey(TaskEvent.Type type, UUID taskId) {
+
+        static CoalescingKey of(TaskEvent event) {
+            return new CoalescingKey(event.type(), event.task().getId());
+        }
+    }
+
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final long shutdownTimeoutNanos;
+    private final List<Consumer<TaskEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    // Ring buffer: count events starting at head, wrapping around; guarded by lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final TaskEvent[] events;
+    private final long[] publishedAt;
+    private int head;
+    private int count;
+    private boolean stopping;
+    // COALESCE only: slot of the latest waiting event per task and type
+    private final Map<CoalescingKey, Integer> waitingSlots = new HashMap<>();
+
+    private final List<Thread> consumers = new ArrayList<>();
+
+    private final Counter publishedCounter;
+    private final Counter droppedCounter;
+    private final Counter coalescedCounter;
+    private final Counter subscriberFailureCounter;
+    private final Timer lagTimer;
+
+    public TaskEventBus(TaskEventProperties properties, MeterRegistry meterRegistry) {
+        this.overflowPolicy = properties.overflowPolicy();
+        this.blockTimeoutNanos = properties.blockTimeout().toNanos();
+        this.shutdownTimeoutNanos = properties.shutdownTimeout().toNanos();
+        this.events = new TaskEvent[properties.bufferSize()];
+        this.publishedAt = new long[properties.bufferSize()];
+
+        Gauge.builder("task.events.queue.size", this, TaskEventBus::queueSize)
+                .description("Task events waiting to be dispatched")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("task.events.lag")
+                .description("Time from commit until a task event is dispatched to the subscribers")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("task.events.published")
+                .description("Task events put in the buffer")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("task.events.dropped")
+                .description("Task events dropped because the buffer was full")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("task.events.coalesced")
+                .description("Task events merged into one still waiting for the same task")
+                .register(meterRegistry);
+        this.subscriberFailureCounter = Counter.builder("task.events.subscriber.failures")
+                .description("Exceptions thrown by task event subscribers")
+                .register(meterRegistry);
+
+        for (int i = 1; i <= properties.consumerThreads(); i++) {
+            Thread consumer = new Thread(this::consume, "task-events-" + i);
+            consumer.setDaemon(true);
+            consumer.start();
+            consumers.add(consumer);
+        }
+    }
+
+    public void subscribe(Consumer<TaskEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    // Enqueued once the surrounding transaction commits; outside a transaction (e.g. R2DBC writes) right away
+    public void publish(TaskEvent event) {
+        AfterCommit.run(() -> enqueue(event));
+    }
+
+    public int queueSize() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(TaskEvent event) {
+        lock.lock();
+        try {
+            if (overflowPolicy == OverflowPolicy.COALESCE && count == events.length) {
+                Integer slot = waitingSlots.get(CoalescingKey.of(event));
+                if (slot != null && events[slot].isCompletion() == event.isCompletion()) {
+                    events[slot] = events[slot].coalesce(event);
+                    coalescedCounter.increment();
+                    return;
+                }
+            }
+            if (!awaitFreeSlot()) {
+                droppedCounter.increment();
+                return;
+            }
+
+            int tail = (head + count) % events.length;
+            events[tail] = event;
+            publishedAt[tail] = System.nanoTime();
+            count++;
+            if (overflowPolicy == OverflowPolicy.COALESCE) {
+                waitingSlots.put(CoalescingKey.of(event), tail);
+            }
+            publishedCounter.increment();
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean awaitFreeSlot() {
+        if (overflowPolicy != OverflowPolicy.BLOCK) {
+            return count < events.length && !stopping;
+        }
+        long remainingNanos = blockTimeoutNanos;
+        try {
+            while (count == events.length && !stopping && remainingNanos > 0) {
+                remainingNanos = notFull.awaitNanos(remainingNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return count < events.length && !stopping;
+    }
+
+    private void consume() {
+        while (true) {
+            TaskEvent event;
+            long eventPublishedAt;
+            lock.lock();
+            try {
+                while (count == 0) {
+                    if (stopping) {
+                        return;
+                    }
+                    notEmpty.awaitUninterruptibly();
+                }
+                event = events[head];
+                eventPublishedAt = publishedAt[head];
+                events[head] = null;
+                if (overflowPolicy == OverflowPolicy.COALESCE) {
+                    // Unless a later event of the same task and type is waiting too
+                    waitingSlots.remove(CoalescingKey.of(event), head);
+                }
+                head = (head + 1) % events.length;
+                count--;
+                notFull.signal();
+            } finally {
+                lock.unlock();
+            }
+
+            lagTimer.record(System.nanoTime() - eventPublishedAt, TimeUnit.NANOSECONDS);
+            dispatch(event);
+        }
+    }
+
+    private void dispatch(TaskEvent event) {
+        for (Consumer<TaskEvent> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException e) {
+                // One failing subscriber must not keep the event from the others
+                subscriberFailureCounter.increment();
+                log.warn("Task event subscriber failed on {} of task {}", event.type(), event.task().getId(), e);
+            }
+        }
+    }
+
+    // New events are refused from here on; the consumers drain what is waiting and stop
+    @Override
+    public void destroy() throws InterruptedException {
+        lock.lock();
+        try {
+            stopping = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        long deadline = System.nanoTime() + shutdownTimeoutNanos;
+        for (Thread consumer : consumers) {
+            TimeUnit.NANOSECONDS.timedJoin(consumer, Math.max(deadline - System.nanoTime(), 1));
+        }
+        int lost = queueSize();
+        if (lost > 0) {
+            log.warn("{} task events were not dispatched before shutdown", lost);
+        }
+    }
+
+}
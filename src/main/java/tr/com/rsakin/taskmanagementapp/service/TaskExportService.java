@@ -0,0 +1,159 @@
+package tr.com.rsakin.taskmanagementapp.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskResponseDTO;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+import tr.com.rsakin.taskmanagementapp.model.mapper.ManualTaskMapper;
+import tr.com.rsakin.taskmanagementapp.repository.TaskRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Full-table export that never holds more than one fetch batch of tasks in memory:
+// rows are streamed from the database, written straight to the output and detached right away,
+// so the persistence context does not grow with the table.
+@Service
+public class TaskExportService {
+
+    private static final String CSV_HEADER = "id,title,description,status,createdAt,priorityValue,priorityLabel";
+
+    private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter ndjsonWriter;
+
+    public TaskExportService(TaskRepository taskRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        // Flushing after every row would turn each task into a separate network write
+        this.ndjsonWriter = objectMapper.writerFor(TaskResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public enum ExportFormat {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+        private final MediaType mediaType;
+        private final String fileExtension;
+
+        ExportFormat(MediaType mediaType, String fileExtension) {
+            this.mediaType = mediaType;
+            this.fileExtension = fileExtension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getFileExtension() {
+            return fileExtension;
+        }
+
+        public static ExportFormat fromParameter(String format) {
+            return ExportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    // Returns the number of exported tasks
+    @Transactional
+    public long exportTasks(ExportFormat format, OutputStream out) throws IOException {
+        entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        try (Stream<Task> tasks = taskRepository.streamAll()) {
+            return switch (format) {
+                case NDJSON -> writeNdjson(tasks, out);
+                case CSV -> writeCsv(tasks, out);
+            };
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long writeNdjson(Stream<Task> tasks, OutputStream out) throws IOException {
+        AtomicLong count = new AtomicLong();
+        try (JsonGenerator generator = ndjsonWriter.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // One document per line; the newline is written after each value instead of the default space before it
+            generator.setRootValueSeparator(null);
+            tasks.forEach(task -> {
+                try {
+                    ndjsonWriter.writeValue(generator, ManualTaskMapper.toDTO(task));
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                entityManager.detach(task);
+                count.incrementAndGet();
+            });
+        }
+        return count.get();
+    }
+
+    private long writeCsv(Stream<Task> tasks, OutputStream out) throws IOException {
+        AtomicLong count = new AtomicLong();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        tasks.forEach(task -> {
+            try {
+                writeCsvRow(writer, task);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            entityManager.detach(task);
+            count.incrementAndGet();
+        });
+        writer.flush();
+        return count.get();
+    }
+
+    private void writeCsvRow(Writer writer, Task task) throws IOException {
+        writer.write(task.getId().toString());
+        writer.write(',');
+        writeCsvField(writer, task.getTitle());
+        writer.write(',');
+        writeCsvField(writer, task.getDescription());
+        writer.write(',');
+        writer.write(task.getStatus().name());
+        writer.write(',');
+        writer.write(task.getCreatedAt().toString());
+        writer.write(',');
+        writer.write(Integer.toString(task.getPriorityValue()));
+        writer.write(',');
+        writeCsvField(writer, task.getPriorityLabel());
+        writer.write('\n');
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks and double the quotes inside
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+}
@@ -0,0 +1,520 @@
+package tr.com.rsakin.taskmanagementapp.service;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tr.com.rsakin.taskmanagementapp.model.dto.request.SearchCursor;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+import tr.com.rsakin.taskmanagementapp.repository.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// In-memory inverted index over the words of task titles and descriptions.
+// Each distinct word is a term with two sorted lists of the documents having it, one per field. The terms themselves
+// are indexed by trigram, padded like pg_trgm does ("  task " -> "  t", " ta", "tas", "ask", "sk "), so a query word
+// finds the terms containing it (or starting with it, when shorter than a trigram) among the smallest list of terms of
+// its trigrams, and the hits are read off their posting lists. The cost of a query follows the number of matching
+// terms and their postings, not the number of tasks.
+// No text is kept per task: a task costs about 100 bytes (id, creation time, ordinal) plus four bytes per distinct
+// word and field. With a three-word title and a twelve-word description that is some 160 bytes, 160 MB of heap per
+// million tasks, against 540 when the normalized text was kept for verification. Words are stored once however many
+// tasks share them, so the term dictionary grows with the vocabulary, not with the tasks.
+// Built once from the database at startup, then kept up to date by the service write paths after commit.
+@Slf4j
+@Component
+public class TaskSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final long MICROS_PER_SECOND = 1_000_000;
+
+    // Per query word: whole word > word prefix > anywhere inside a word; title matches count double
+    private static final int WORD_SCORE = 4;
+    private static final int PREFIX_SCORE = 2;
+    private static final int SUBSTRING_SCORE = 1;
+    private static final int TITLE_WEIGHT = 2;
+    // Marks a title match in the packed postings of a query word
+    private static final int TITLE_FIELD = 1 << 8;
+
+    // Removed documents stay in the posting lists until more than this share of all documents is removed
+    private static final double COMPACTION_RATIO = 0.25;
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score)
+            .thenComparing(Hit::createdAt)
+            .thenComparing(Hit::id)
+            .reversed();
+
+    private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    // Guards all the structures below; searches share the read lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Documents by ordinal; ordinals grow with every add, so appending keeps each posting list sorted
+    private final List<Document> documents = new ArrayList<>();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final Map<String, Term> terms = new HashMap<>();
+    // Terms by the trigrams of their padded word
+    private final Map<Long, ArrayList<Term>> termsByGram = new HashMap<>();
+    private int removedDocuments;
+
+    private volatile boolean ready;
+    // Tasks deleted while the startup scan runs; the scan may still return them from its snapshot
+    private final Set<UUID> removedWhileSeeding = ConcurrentHashMap.newKeySet();
+
+    public TaskSearchIndex(TaskRepository taskRepository,
+                           EntityManager entityManager,
+                           PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // One ranked search hit; also the keyset position to continue after it
+    public record Hit(UUID id, int score, LocalDateTime createdAt) {
+
+        public SearchCursor toCursor() {
+            return new SearchCursor(score, createdAt, id);
+        }
+    }
+
+    // createdAt as epoch microseconds: a LocalDateTime costs three objects per document
+    private record Document(UUID id, long createdAt) {
+
+        LocalDateTime createdAtTime() {
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(createdAt, MICROS_PER_SECOND),
+                    (int) Math.floorMod(createdAt, MICROS_PER_SECOND) * 1000, ZoneOffset.UTC);
+        }
+    }
+
+    // Growable sorted array of document ordinals, no boxing; allocated on first add, as most words occur in one field only
+    private static final class Postings {
+        private int[] ordinals = new int[0];
+        private int size;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, Math.max(4, size * 2));
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        void trim() {
+            ordinals = Arrays.copyOf(ordinals, size);
+        }
+    }
+
+    // A distinct word and the documents having it in their title and in their description
+    private record Term(String word, Postings title, Postings description) {
+
+        Term(String word) {
+            this(word, new Postings(), new Postings());
+        }
+
+        boolean isEmpty() {
+            return title.size == 0 && description.size == 0;
+        }
+    }
+
+    // Documents matching one query word with the score of the match, sorted by ordinal
+    private record Matches(int[] ordinals, int[] scores, int size) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        try {
+            long started = System.nanoTime();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+                try (Stream<Task> tasks = taskRepository.streamAll()) {
+                    tasks.forEach(task -> {
+                        if (!removedWhileSeeding.contains(task.getId())) {
+                            index(task);
+                        }
+                        entityManager.detach(task);
+                    });
+                }
+            });
+            trimPostings();
+            ready = true;
+            removedWhileSeeding.clear();
+            log.info("Search index built with {} tasks in {} ms", size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            // Do not fail startup over search; title lookups fall back to the database until the index is built
+            log.warn("Could not build the search index", e);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static boolean isSearchable(String query) {
+        return !words(normalize(query)).isEmpty();
+    }
+
+    // Rolled back inserts must not become searchable
+    public void add(Task task) {
+        AfterCommit.run(() -> index(task));
+    }
+
+    public void remove(UUID id) {
+        AfterCommit.run(() -> unindex(id));
+    }
+
+    // Every word of the query has to match the title or (unless titleOnly) the description.
+    // Words of three or more characters match anywhere inside a word, shorter ones only at the start of a word.
+    // Returns at most limit hits ranked after the given position (null for the first page).
+    public List<Hit> search(String query, boolean titleOnly, SearchCursor after, int limit) {
+        if (!ready) {
+            throw new IllegalStateException("Search index is still being built");
+        }
+        List<String> queryWords = words(normalize(query));
+        if (queryWords.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain a letter or a digit");
+        }
+
+        // Worst kept hit on top, so the heap never holds more than limit hits
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        lock.readLock().lock();
+        try {
+            Matches matches = matchesOfAll(queryWords, titleOnly);
+            for (int i = 0; i < matches.size(); i++) {
+                Document document = documents.get(matches.ordinals()[i]);
+                int score = matches.scores()[i];
+                // Cannot make it into a full heap, skip before allocating the hit
+                if (best.size() == limit && score < best.peek().score()) {
+                    continue;
+                }
+                Hit hit = new Hit(document.id(), score, document.createdAtTime());
+                if (after != null && RANKING.compare(hit, new Hit(after.id(), after.score(), after.createdAt())) <= 0) {
+                    continue;
+                }
+                best.add(hit);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(RANKING);
+        return hits;
+    }
+
+    // Documents matching every query word, each word adding its score
+    private Matches matchesOfAll(List<String> queryWords, boolean titleOnly) {
+        List<Matches> perWord = new ArrayList<>(queryWords.size());
+        for (String word : queryWords) {
+            Matches matches = matches(word, titleOnly);
+            if (matches.size() == 0) {
+                return matches;
+            }
+            perWord.add(matches);
+        }
+        perWord.sort(Comparator.comparingInt(Matches::size));
+
+        Matches first = perWord.getFirst();
+        int[] ordinals = Arrays.copyOf(first.ordinals(), first.size());
+        int[] scores = Arrays.copyOf(first.scores(), first.size());
+        int size = first.size();
+        for (int i = 1; i < perWord.size() && size > 0; i++) {
+            size = intersect(ordinals, scores, size, perWord.get(i));
+        }
+        return new Matches(ordinals, scores, size);
+    }
+
+    // Keeps the ordinals of ordinals[0..size) that are also in the other matches and adds their scores; both are sorted
+    private static int intersect(int[] ordinals, int[] scores, int size, Matches other) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < size && j < other.size(); i++) {
+            while (j < other.size() && other.ordinals()[j] < ordinals[i]) {
+                j++;
+            }
+            if (j < other.size() && other.ordinals()[j] == ordinals[i]) {
+                ordinals[kept] = ordinals[i];
+                scores[kept++] = scores[i] + other.scores()[j];
+            }
+        }
+        return kept;
+    }
+
+    // Documents having a term that matches the word, scored by the best match in the title (weighted) plus the best
+    // in the description. The postings of all matching terms are packed as ordinal, field and score into longs and
+    // sorted, which groups them by document.
+    private Matches matches(String word, boolean titleOnly) {
+        List<Term> matchingTerms = matchingTerms(word);
+        int count = 0;
+        for (Term term : matchingTerms) {
+            count += term.title().size + (titleOnly ? 0 : term.description().size);
+        }
+        long[] entries = new long[count];
+        int size = 0;
+        for (Term term : matchingTerms) {
+            int score = termScore(term.word(), word);
+            size = pack(entries, size, term.title(), TITLE_FIELD | score);
+            if (!titleOnly) {
+                size = pack(entries, size, term.description(), score);
+            }
+        }
+        Arrays.sort(entries);
+
+        int[] ordinals = new int[size];
+        int[] scores = new int[size];
+        int matched = 0;
+        for (int i = 0; i < size; ) {
+            int ordinal = (int) (entries[i] >>> 32);
+            int titleScore = 0;
+            int descriptionScore = 0;
+            for (; i < size && (int) (entries[i] >>> 32) == ordinal; i++) {
+                int entry = (int) entries[i];
+                if ((entry & TITLE_FIELD) != 0) {
+                    titleScore = Math.max(titleScore, entry & ~TITLE_FIELD);
+                } else {
+                    descriptionScore = Math.max(descriptionScore, entry);
+                }
+            }
+            // Removed documents stay in the posting lists until the next compaction
+            if (documents.get(ordinal) != null) {
+                ordinals[matched] = ordinal;
+                scores[matched++] = titleScore * TITLE_WEIGHT + descriptionScore;
+            }
+        }
+        return new Matches(ordinals, scores, matched);
+    }
+
+    private static int pack(long[] entries, int size, Postings postings, int fieldAndScore) {
+        for (int i = 0; i < postings.size; i++) {
+            entries[size++] = ((long) postings.ordinals[i] << 32) | fieldAndScore;
+        }
+        return size;
+    }
+
+    // Words of three or more characters match terms containing them, shorter ones terms starting with them.
+    // Every matching term has all the query trigrams, so the smallest list of terms of one of them is enough to scan.
+    private List<Term> matchingTerms(String word) {
+        List<Term> smallest = null;
+        for (long gram : queryGrams(word)) {
+            List<Term> candidates = termsByGram.get(gram);
+            if (candidates == null) {
+                return List.of();
+            }
+            if (smallest == null || candidates.size() < smallest.size()) {
+                smallest = candidates;
+            }
+        }
+        List<Term> matching = new ArrayList<>();
+        for (Term term : smallest) {
+            if (word.length() < GRAM_LENGTH ? term.word().startsWith(word) : term.word().contains(word)) {
+                matching.add(term);
+            }
+        }
+        return matching;
+    }
+
+    private static int termScore(String term, String word) {
+        if (term.equals(word)) {
+            return WORD_SCORE;
+        }
+        return term.startsWith(word) ? PREFIX_SCORE : SUBSTRING_SCORE;
+    }
+
+    private void index(Task task) {
+        // Same precision as the stored column, so cursors round-trip
+        LocalDateTime createdAt = task.getCreatedAt();
+        Document document = new Document(
+                task.getId(),
+                createdAt.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + createdAt.getNano() / 1000);
+        Set<String> titleWords = new HashSet<>(words(normalize(task.getTitle())));
+        Set<String> descriptionWords = new HashSet<>(words(normalize(task.getDescription())));
+
+        lock.writeLock().lock();
+        try {
+            if (ordinals.containsKey(document.id())) {
+                return;
+            }
+            int ordinal = documents.size();
+            documents.add(document);
+            ordinals.put(document.id(), ordinal);
+            for (String word : titleWords) {
+                term(word).title().add(ordinal);
+            }
+            for (String word : descriptionWords) {
+                term(word).description().add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Term term(String word) {
+        Term term = terms.get(word);
+        if (term == null) {
+            term = new Term(word);
+            terms.put(word, term);
+            addToGrams(term);
+        }
+        return term;
+    }
+
+    private void addToGrams(Term term) {
+        for (long gram : termGrams(term.word())) {
+            termsByGram.computeIfAbsent(gram, key -> new ArrayList<>()).add(term);
+        }
+    }
+
+    private void unindex(UUID id) {
+        if (!ready) {
+            removedWhileSeeding.add(id);
+        }
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal == null) {
+                return;
+            }
+            documents.set(ordinal, null);
+            removedDocuments++;
+            if (removedDocuments > documents.size() * COMPACTION_RATIO) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The doubling growth leaves up to half of every list unused; after the bulk load the lists are cut to size
+    private void trimPostings() {
+        lock.writeLock().lock();
+        try {
+            for (Term term : terms.values()) {
+                term.title().trim();
+                term.description().trim();
+            }
+            termsByGram.values().forEach(ArrayList::trimToSize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Renumbers the remaining documents in their current order, so the posting lists stay sorted, and drops the terms
+    // no document has any more
+    private void compact() {
+        int[] renumbered = new int[documents.size()];
+        List<Document> remaining = new ArrayList<>(ordinals.size());
+        for (int ordinal = 0; ordinal < documents.size(); ordinal++) {
+            Document document = documents.get(ordinal);
+            renumbered[ordinal] = document == null ? -1 : remaining.size();
+            if (document != null) {
+                ordinals.put(document.id(), remaining.size());
+                remaining.add(document);
+            }
+        }
+        documents.clear();
+        documents.addAll(remaining);
+
+        boolean termsDropped = terms.values().removeIf(term -> {
+            renumber(term.title(), renumbered);
+            renumber(term.description(), renumbered);
+            return term.isEmpty();
+        });
+        if (termsDropped) {
+            termsByGram.clear();
+            terms.values().forEach(this::addToGrams);
+        }
+        removedDocuments = 0;
+    }
+
+    private static void renumber(Postings list, int[] renumbered) {
+        int kept = 0;
+        for (int i = 0; i < list.size; i++) {
+            int ordinal = renumbered[list.ordinals[i]];
+            if (ordinal >= 0) {
+                list.ordinals[kept++] = ordinal;
+            }
+        }
+        list.size = kept;
+    }
+
+    private static long[] termGrams(String word) {
+        String padded = "  " + word + " ";
+        long[] grams = new long[padded.length() - GRAM_LENGTH + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = gram(padded, i);
+        }
+        return distinct(grams);
+    }
+
+    // Long words are looked up by their inner trigrams (substring match), short ones by their padded prefix trigram
+    private static long[] queryGrams(String word) {
+        if (word.length() < GRAM_LENGTH) {
+            return new long[] {gram(" ".repeat(GRAM_LENGTH - word.length()) + word, 0)};
+        }
+        long[] grams = new long[word.length() - GRAM_LENGTH + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = gram(word, i);
+        }
+        return grams;
+    }
+
+    // The three chars packed into one long, then multiplied by an odd constant (a bijection, so keys stay unique):
+    // Long.hashCode folds the high half onto the low one, and the plain packed values would collide in the HashMap
+    private static long gram(String text, int from) {
+        long packed = ((long) text.charAt(from) << 32) | ((long) text.charAt(from + 1) << 16) | text.charAt(from + 2);
+        return packed * 0x9E3779B97F4A7C15L;
+    }
+
+    private static long[] distinct(long[] values) {
+        Arrays.sort(values);
+        int size = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (i == 0 || values[i] != values[i - 1]) {
+                values[size++] = values[i];
+            }
+        }
+        return Arrays.copyOf(values, size);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+}
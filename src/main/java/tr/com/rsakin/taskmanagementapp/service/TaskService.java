@@ -2,12 +2,25 @@ package tr.com.rsakin.taskmanagementapp.service;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import tr.com.rsakin.taskmanagementapp.model.dto.request.BulkStatusUpdateRequest;
+import tr.com.rsakin.taskmanagementapp.model.dto.request.SearchCursor;
+import tr.com.rsakin.taskmanagementapp.model.dto.request.TaskCursor;
+import tr.com.rsakin.taskmanagementapp.model.dto.request.TaskRequest;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.BulkStatusUpdateResponse;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.CursorPage;
 import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskResponseDTO;
 import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskStatistics;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskSummaryDTO;
 import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+import tr.com.rsakin.taskmanagementapp.model.exception.TaskVersionConflictException;
 import tr.com.rsakin.taskmanagementapp.model.mapper.ManualTaskMapper;
 import tr.com.rsakin.taskmanagementapp.model.mapper.TaskResponseMapper;
+import tr.com.rsakin.taskmanagementapp.outbox.TaskOutbox;
 import tr.com.rsakin.taskmanagementapp.repository.TaskRepository;
 
 import java.time.Duration;
@@ -15,19 +28,36 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
 
-    private final TaskRepository taskRepository;
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 1000;
+    public static final int BULK_UPDATE_CHUNK_SIZE = 1000;
+
+    // Start of the id walk in bulk updates, sorts before every other UUID
+    private static final UUID MIN_UUID = new UUID(0, 0);
 
-    // Event publishing for task operations (Java 8 functional interfaces)
-    private final List<Consumer<Task>> taskCreationListeners = new ArrayList<>();
-    private final List<Consumer<Task>> taskCompletionListeners = new ArrayList<>();
+    private final TaskRepository taskRepository;
+    private final TaskCounters taskCounters;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskCacheInvalidator taskCacheInvalidator;
+    // Creation, status change and delete events are written to the outbox with the change itself,
+    // and go to in-process listeners after commit, on the bus's own threads
+    private final TaskOutbox taskOutbox;
+    private final TaskEventBus taskEventBus;
+
+    // Spring Boot's shared executor: virtual threads when spring.threads.virtual.enabled, a bounded platform pool otherwise.
+    // Its lifecycle belongs to the context, so nothing is created or leaked per call.
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private final AsyncTaskExecutor taskExecutor;
 
     @Transactional
     public TaskResponseDTO createTask(String title, String description) {
@@ -39,17 +69,123 @@ public class TaskService {
                 .build();
 
         Task savedTask = taskRepository.save(task);
-
-        // Notify creation listeners
-        taskCreationListeners.forEach(listener -> listener.accept(savedTask));
+        taskCounters.recordCreated(savedTask);
+        taskSearchIndex.add(savedTask);
+        emit(TaskEvent.created(savedTask));
 
         return ManualTaskMapper.toDTO(savedTask);
     }
 
+    // All or nothing: every task is validated first, then all are inserted in one transaction.
+    // New tasks go straight to INSERT and Hibernate sends them to the database in JDBC batches.
+    @Transactional
+    public List<TaskResponseDTO> createTasks(List<TaskRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one task is required");
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " tasks can be created at once");
+        }
+        requests.forEach(request -> validateTaskInput(request.getTitle(), request.getDescription()));
+
+        List<Task> tasks = requests.stream()
+                .map(request -> Task.builder()
+                        .title(request.getTitle())
+                        .description(request.getDescription())
+                        .build())
+                .toList();
+
+        List<Task> savedTasks = taskRepository.saveAll(tasks);
+        savedTasks.forEach(savedTask -> {
+            taskCounters.recordCreated(savedTask);
+            taskSearchIndex.add(savedTask);
+        });
+        emitAll(savedTasks.stream().map(TaskEvent::created).toList());
+
+        return savedTasks.stream().map(ManualTaskMapper::toDTO).toList();
+    }
+
     public List<TaskResponseDTO> getAllTasks() {
         return TaskResponseMapper.INSTANCE.toDTOList(taskRepository.findAll());
     }
 
+    // Keyset pagination: each page seeks past the cursor on (createdAt, id), so the cost of a page
+    // does not depend on how deep into the list it is, unlike OFFSET paging
+    public CursorPage<TaskResponseDTO> getTasksPage(String cursor, int size) {
+        return findPage(cursor, size,
+                taskRepository::findAllByOrderByCreatedAtDescIdDesc,
+                (after, limit) -> taskRepository.findPageAfter(after.createdAt(), after.id(), limit),
+                TaskCursor::of,
+                TaskResponseMapper.INSTANCE::toDTO);
+    }
+
+    public CursorPage<TaskResponseDTO> getTasksPageByStatus(Task.TaskStatus status, String cursor, int size) {
+        return findPage(cursor, size,
+                limit -> taskRepository.findByStatusOrderByCreatedAtDescIdDesc(status, limit),
+                (after, limit) -> taskRepository.findPageByStatusAfter(status, after.createdAt(), after.id(), limit),
+                TaskCursor::of,
+                TaskResponseMapper.INSTANCE::toDTO);
+    }
+
+    public CursorPage<TaskResponseDTO> getTasksPageByPriority(int priorityValue, String cursor, int size) {
+        return findPage(cursor, size,
+                limit -> taskRepository.findByPriorityValueOrderByCreatedAtDescIdDesc(priorityValue, limit),
+                (after, limit) -> taskRepository.findPageByPriorityValueAfter(priorityValue, after.createdAt(), after.id(), limit),
+                TaskCursor::of,
+                TaskResponseMapper.INSTANCE::toDTO);
+    }
+
+    // Summary projection of the same pages: only the listed columns are selected, no entities are loaded.
+    // Cursors are interchangeable with the full pages.
+    public CursorPage<TaskSummaryDTO> getTaskSummariesPage(String cursor, int size) {
+        return findPage(cursor, size,
+                taskRepository::findSummariesByOrderByCreatedAtDescIdDesc,
+                (after, limit) -> taskRepository.findSummaryPageAfter(after.createdAt(), after.id(), limit),
+                summary -> TaskCursor.of(summary.createdAt(), summary.id()),
+                TaskService::toSummaryDTO);
+    }
+
+    public CursorPage<TaskSummaryDTO> getTaskSummariesPageByStatus(Task.TaskStatus status, String cursor, int size) {
+        return findPage(cursor, size,
+                limit -> taskRepository.findSummariesByStatusOrderByCreatedAtDescIdDesc(status, limit),
+                (after, limit) -> taskRepository.findSummaryPageByStatusAfter(status, after.createdAt(), after.id(), limit),
+                summary -> TaskCursor.of(summary.createdAt(), summary.id()),
+                TaskService::toSummaryDTO);
+    }
+
+    public CursorPage<TaskSummaryDTO> getTaskSummariesPageByPriority(int priorityValue, String cursor, int size) {
+        return findPage(cursor, size,
+                limit -> taskRepository.findSummariesByPriorityValueOrderByCreatedAtDescIdDesc(priorityValue, limit),
+                (after, limit) -> taskRepository.findSummaryPageByPriorityValueAfter(priorityValue, after.createdAt(), after.id(), limit),
+                summary -> TaskCursor.of(summary.createdAt(), summary.id()),
+                TaskService::toSummaryDTO);
+    }
+
+    private <T, R> CursorPage<R> findPage(String cursor,
+                                          int size,
+                                          Function<Limit, List<T>> firstPage,
+                                          BiFunction<TaskCursor, Limit, List<T>> pageAfter,
+                                          Function<T, TaskCursor> cursorOf,
+                                          Function<T, R> mapper) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        // Fetch one extra row to find out whether there is a next page without a count query
+        Limit limit = Limit.of(pageSize + 1);
+        List<T> rows = (cursor == null || cursor.isBlank())
+                ? firstPage.apply(limit)
+                : pageAfter.apply(TaskCursor.decode(cursor), limit);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = cursorOf.apply(rows.get(pageSize - 1)).encode();
+        }
+        return new CursorPage<>(rows.stream().map(mapper).toList(), nextCursor);
+    }
+
+    private static TaskSummaryDTO toSummaryDTO(TaskRepository.TaskSummary summary) {
+        return new TaskSummaryDTO(summary.id(), summary.title(), summary.status(), summary.priority());
+    }
+
     public TaskResponseDTO getTaskById(UUID id) {
         return taskRepository.findById(id)
                 .map(TaskResponseMapper.INSTANCE::toDTO)
@@ -58,26 +194,117 @@ public class TaskService {
 
     @Transactional
     public Task updateTaskStatus(UUID id, Task.TaskStatus newStatus) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Task not found with ID: " + id));
+        return updateTaskStatus(id, newStatus, null);
+    }
 
-        if (task.getStatus() == Task.TaskStatus.BLOCKED)
-            throw new TaskStatusNotAvailableException("Task not found with ID: " + id);
+    // Optimistic concurrency: the compare-and-set carries the BLOCKED check and, if expectedVersion is given,
+    // the version check, so concurrent updates cannot both pass the checks and overwrite each other.
+    // One statement on PostgreSQL, a locked read and a conditional UPDATE elsewhere (see TaskStatusRepositoryImpl);
+    // the task is only read again when the update did not apply, to tell why.
+    @Transactional
+    public Task updateTaskStatus(UUID id, Task.TaskStatus newStatus, Long expectedVersion) {
+        Task.Priority priority = Task.priorityOf(newStatus);
+        TaskRepository.StatusTransition transition = taskRepository.compareAndSetStatus(
+                        id, newStatus, priority.getValue(), priority.getLabel(), LocalDateTime.now(),
+                        expectedVersion == null ? TaskRepository.ANY_VERSION : expectedVersion)
+                .orElseThrow(() -> statusUpdateFailure(id, expectedVersion));
+
+        Task savedTask = transition.task();
+        taskCacheInvalidator.taskChanged(id);
+        taskCounters.recordStatusChange(transition.previousStatus(), savedTask.getStatus());
+        emit(TaskEvent.statusChanged(savedTask, transition.previousStatus()));
 
-        Task updatedTask = task.updateStatus(newStatus);
-        Task savedTask = taskRepository.save(updatedTask);
+        return savedTask;
+    }
 
-        // Notify completion listeners if task is completed
-        if (newStatus == Task.TaskStatus.COMPLETED) {
-            taskCompletionListeners.forEach(listener -> listener.accept(savedTask));
+    private RuntimeException statusUpdateFailure(UUID id, Long expectedVersion) {
+        Task task = taskRepository.findById(id).orElse(null);
+        if (task == null) {
+            return new IllegalArgumentException("Task not found with ID: " + id);
         }
+        // Without a version check only the BLOCKED precondition can fail (the task may have been unblocked since)
+        if (task.getStatus() == Task.TaskStatus.BLOCKED || expectedVersion == null) {
+            return new TaskStatusNotAvailableException("Task is blocked with ID: " + id);
+        }
+        return new TaskVersionConflictException(id, expectedVersion, task.getVersion());
+    }
 
-        return savedTask;
+    // Set-based transition: per chunk of up to BULK_UPDATE_CHUNK_SIZE tasks, one SELECT ... FOR UPDATE of (id, status)
+    // and one UPDATE, instead of a read and a merge per task. BLOCKED tasks are left alone, as in updateTaskStatus.
+    @Transactional
+    public BulkStatusUpdateResponse updateTasksStatus(BulkStatusUpdateRequest request) {
+        if (request.targetStatus() == null) {
+            throw new IllegalArgumentException("Target status is required");
+        }
+        if (!request.hasFilter()) {
+            throw new IllegalArgumentException("At least one of ids, currentStatus or priorityValue is required");
+        }
+
+        Task.TaskStatus targetStatus = request.targetStatus();
+        List<UUID> updatedIds = new ArrayList<>();
+        if (request.ids() != null && !request.ids().isEmpty()) {
+            List<UUID> ids = request.ids().stream().distinct().toList();
+            for (int from = 0; from < ids.size(); from += BULK_UPDATE_CHUNK_SIZE) {
+                List<UUID> chunk = ids.subList(from, Math.min(from + BULK_UPDATE_CHUNK_SIZE, ids.size()));
+                transitionChunk(taskRepository.lockTransitionCandidatesByIds(
+                        chunk, request.currentStatus(), request.priorityValue(), targetStatus), targetStatus, updatedIds);
+            }
+        } else {
+            UUID afterId = MIN_UUID;
+            List<Object[]> candidates;
+            do {
+                candidates = taskRepository.lockTransitionCandidatesAfter(
+                        afterId, request.currentStatus(), request.priorityValue(), targetStatus, Limit.of(BULK_UPDATE_CHUNK_SIZE));
+                transitionChunk(candidates, targetStatus, updatedIds);
+                if (!candidates.isEmpty()) {
+                    afterId = (UUID) candidates.getLast()[0];
+                }
+            } while (candidates.size() == BULK_UPDATE_CHUNK_SIZE);
+        }
+
+        return new BulkStatusUpdateResponse(updatedIds.size(), updatedIds);
+    }
+
+    private void transitionChunk(List<Object[]> candidates, Task.TaskStatus targetStatus, List<UUID> updatedIds) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        Map<UUID, Task.TaskStatus> previousStatuses = new LinkedHashMap<>();
+        for (Object[] row : candidates) {
+            previousStatuses.put((UUID) row[0], (Task.TaskStatus) row[1]);
+        }
+
+        Task.Priority priority = Task.priorityOf(targetStatus);
+        taskRepository.updateStatusByIds(previousStatuses.keySet(), targetStatus,
+                priority.getValue(), priority.getLabel(), LocalDateTime.now());
+        previousStatuses.values().forEach(previousStatus -> taskCounters.recordStatusChange(previousStatus, targetStatus));
+        updatedIds.addAll(previousStatuses.keySet());
+
+        // Events carry the updated tasks, loaded once per chunk
+        emitAll(taskRepository.findAllById(previousStatuses.keySet()).stream()
+                .map(task -> TaskEvent.statusChanged(task, previousStatuses.get(task.getId())))
+                .toList());
     }
 
     @Transactional
     public void deleteTask(UUID id) {
-        taskRepository.deleteById(id);
+        // deleteById loads the task anyway; loading it here lets the counters know which status is going away
+        taskRepository.findById(id).ifPresent(task -> {
+            taskRepository.delete(task);
+            taskCounters.recordDeleted(task);
+            taskSearchIndex.remove(task.getId());
+            emit(TaskEvent.deleted(task));
+        });
+    }
+
+    private void emit(TaskEvent event) {
+        taskOutbox.record(event);
+        taskEventBus.publish(event);
+    }
+
+    private void emitAll(List<TaskEvent> events) {
+        taskOutbox.recordAll(events);
+        events.forEach(taskEventBus::publish);
     }
 
     // Validation
@@ -99,12 +326,57 @@ public class TaskService {
                 .collect(Collectors.toList());
     }
 
+    // Best ranked title match from the search index. The LIKE scan is only used until the index is built
+    // and for titles without any letter or digit, which the index has nothing to look up for.
     public Optional<TaskResponseDTO> findTaskByTitle(String title) {
-        return taskRepository.findByTitleContainingIgnoreCase(title).stream()
+        if (!taskSearchIndex.isReady() || !TaskSearchIndex.isSearchable(title)) {
+            return taskRepository.findByTitleContainingIgnoreCase(title).stream()
+                    .findFirst()
+                    .map(TaskResponseMapper.INSTANCE::toDTO);
+        }
+        return taskSearchIndex.search(title, true, null, 1).stream()
                 .findFirst()
+                .flatMap(hit -> taskRepository.findById(hit.id()))
                 .map(TaskResponseMapper.INSTANCE::toDTO);
     }
 
+    // Ranked full-text search over titles and descriptions, paged by keyset like the task lists.
+    // The index only yields ids; the page itself is loaded by primary key.
+    public CursorPage<TaskResponseDTO> searchTasks(String query, String cursor, int size) {
+        return search(query, cursor, size, taskRepository::findAllById, Task::getId, TaskResponseMapper.INSTANCE::toDTO);
+    }
+
+    public CursorPage<TaskSummaryDTO> searchTaskSummaries(String query, String cursor, int size) {
+        return search(query, cursor, size, taskRepository::findSummariesByIdIn, TaskRepository.TaskSummary::id, TaskService::toSummaryDTO);
+    }
+
+    private <T, R> CursorPage<R> search(String query,
+                                        String cursor,
+                                        int size,
+                                        Function<List<UUID>, List<T>> loader,
+                                        Function<T, UUID> idOf,
+                                        Function<T, R> mapper) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        SearchCursor after = (cursor == null || cursor.isBlank()) ? null : SearchCursor.decode(cursor);
+        List<TaskSearchIndex.Hit> hits = taskSearchIndex.search(query, false, after, pageSize + 1);
+
+        String nextCursor = null;
+        if (hits.size() > pageSize) {
+            hits = hits.subList(0, pageSize);
+            nextCursor = hits.getLast().toCursor().encode();
+        }
+
+        Map<UUID, T> rowsById = loader.apply(hits.stream().map(TaskSearchIndex.Hit::id).toList()).stream()
+                .collect(Collectors.toMap(idOf, Function.identity()));
+        List<R> items = hits.stream()
+                .map(hit -> rowsById.get(hit.id()))
+                // Deleted after the search, before the load
+                .filter(Objects::nonNull)
+                .map(mapper)
+                .toList();
+        return new CursorPage<>(items, nextCursor);
+    }
+
     // Methods using JPQL queries
 
     public List<TaskResponseDTO> getTasksByPriority(int priorityValue) {
@@ -136,23 +408,26 @@ public class TaskService {
         return formattedStats;
     }
 
-    // Observer pattern methods
+    // Observer pattern methods: listeners are called after commit on the event bus threads, never inside the write
     public void addTaskCreationListener(Consumer<Task> listener) {
-        taskCreationListeners.add(listener);
+        taskEventBus.subscribe(event -> {
+            if (event.type() == TaskEvent.Type.CREATED) {
+                listener.accept(event.task());
+            }
+        });
     }
 
     public void addTaskCompletionListener(Consumer<Task> listener) {
-        taskCompletionListeners.add(listener);
+        taskEventBus.subscribe(event -> {
+            if (event.isCompletion()) {
+                listener.accept(event.task());
+            }
+        });
     }
 
+    // Served from the in-memory counters, no database round trip
     public TaskStatistics getTaskStatistics() {
-        long total = taskRepository.count();
-        long pending = taskRepository.countByStatus(Task.TaskStatus.PENDING);
-        long inProgress = taskRepository.countByStatus(Task.TaskStatus.IN_PROGRESS);
-        long blocked = taskRepository.countByStatus(Task.TaskStatus.BLOCKED);
-        long completed = taskRepository.countByStatus(Task.TaskStatus.COMPLETED);
-
-        return new TaskStatistics(total, pending, inProgress, blocked, completed);
+        return taskCounters.snapshot();
     }
 
     private long countTasksByStatus(Task.TaskStatus status, List<Task> tasks) {
@@ -205,9 +480,9 @@ public class TaskService {
 
     // Java 17: Sealed classes (related to Task.java, shown separately)
 
-    // Java 19: Virtual threads (preview) - Simulating async operations
+    // Java 21: Virtual threads - async operations on the application task executor
     public CompletableFuture<List<TaskResponseDTO>> getTasksAsync() {
-        return CompletableFuture.supplyAsync(this::getAllTasks, Executors.newVirtualThreadPerTaskExecutor());
+        return CompletableFuture.supplyAsync(this::getAllTasks, taskExecutor);
     }
 
     // Java 21: Pattern matching for switch
@@ -282,12 +557,7 @@ public class TaskService {
             throw new IllegalArgumentException("Task not found with ID: " + id);
         }
 
-        // Using pattern matching for switch with sealed interface
-        return switch (task.getStatus()) {
-            case PENDING, COMPLETED -> new Task.LowPriority();
-            case IN_PROGRESS -> new Task.MediumPriority();
-            case BLOCKED -> new Task.HighPriority();
-        };
+        return task.getPriority();
     }
 
     // Method to update task with priority
@@ -0,0 +1,27 @@
+-- Base schema, portable between PostgreSQL and H2.
+-- IF NOT EXISTS lets the first migration adopt a database whose tables were created by Hibernate (ddl-auto).
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id             UUID          NOT NULL,
+    title          VARCHAR(255)  NOT NULL,
+    description    VARCHAR(2000),
+    status         VARCHAR(255)  NOT NULL,
+    created_at     TIMESTAMP(6)  NOT NULL,
+    updated_at     TIMESTAMP(6),
+    priority_value INTEGER,
+    priority_label VARCHAR(255),
+    version        BIGINT        DEFAULT 0 NOT NULL,
+    CONSTRAINT tasks_pkey PRIMARY KEY (id),
+    CONSTRAINT tasks_status_check CHECK (status IN ('PENDING', 'IN_PROGRESS', 'BLOCKED', 'COMPLETED'))
+);
+
+-- Tables created by Hibernate before optimistic locking was introduced
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+CREATE TABLE IF NOT EXISTS app_users (
+    username      VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    roles         VARCHAR(255) NOT NULL,
+    enabled       BOOLEAN      NOT NULL,
+    CONSTRAINT app_users_pkey PRIMARY KEY (username)
+);
@@ -0,0 +1,17 @@
+-- Transactional outbox: task events written in the same transaction as the tasks change,
+-- relayed to the configured sink and deleted by TaskOutboxRelay.
+
+-- Ids come from a sequence (not IDENTITY) so Hibernate can batch the inserts;
+-- the increment matches the allocationSize of TaskOutboxEvent
+CREATE SEQUENCE IF NOT EXISTS task_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS task_outbox (
+    id         BIGINT         NOT NULL,
+    task_id    UUID           NOT NULL,
+    event_type VARCHAR(32)    NOT NULL,
+    -- JSON snapshot of the task; fits title and description even if every character had to be escaped
+    payload    VARCHAR(16000) NOT NULL,
+    created_at TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT task_outbox_pkey PRIMARY KEY (id),
+    CONSTRAINT task_outbox_event_type_check CHECK (event_type IN ('CREATED', 'STATUS_CHANGED', 'DELETED'))
+);
@@ -0,0 +1,8 @@
+-- H2 counterpart of postgresql/V2__task_query_indexes.sql (used by tests).
+-- H2 has no partial indexes; the open-task queries are served by the full indexes instead.
+
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at_id ON tasks (created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_status_created_at_id ON tasks (status, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_priority_created_at_id ON tasks (priority_value, created_at DESC, id DESC);
@@ -0,0 +1,22 @@
+-- Indexes for the query shapes of TaskRepository and ReactiveTaskRepository.
+-- Each (x, created_at DESC, id DESC) index also serves the ascending order of the reactive API by a backward scan.
+
+-- Keyset pages of all tasks (ORDER BY created_at DESC, id DESC), findByCreatedAtBetween, findFirstByOrderByCreatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at_id ON tasks (created_at DESC, id DESC);
+
+-- findByStatus, countByStatus and keyset pages by status
+CREATE INDEX IF NOT EXISTS idx_tasks_status_created_at_id ON tasks (status, created_at DESC, id DESC);
+
+-- findTasksByPriorityValue, keyset pages by priority and, scanned backwards,
+-- the reactive top priority list (ORDER BY priority_value DESC, created_at, id)
+CREATE INDEX IF NOT EXISTS idx_tasks_priority_created_at_id ON tasks (priority_value, created_at DESC, id DESC);
+
+-- Open (not completed) tasks only: completed tasks pile up over time but these queries never read them
+
+-- findOverdueTasks: created_at < ? AND status <> 'COMPLETED'
+CREATE INDEX IF NOT EXISTS idx_tasks_open_created_at ON tasks (created_at)
+    WHERE status <> 'COMPLETED';
+
+-- findPriorityTasksToComplete: status <> 'COMPLETED' AND priority_value >= ? ORDER BY priority_value DESC, created_at
+CREATE INDEX IF NOT EXISTS idx_tasks_open_priority_created_at ON tasks (priority_value DESC, created_at)
+    WHERE status <> 'COMPLETED';
@@ -0,0 +1,303 @@
+package tr.com.rsakin.taskmanagementapp.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ActiveProfilesResolver;
+import tr.com.rsakin.taskmanagementapp.model.dto.request.TaskRequest;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+import tr.com.rsakin.taskmanagementapp.service.TaskService;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Load test of the whole application: the full context, the servlet container, the security filters and the
+// connection pool, against a seeded database.
+// Requests are sent at a fixed arrival rate, in a weighted mix of routes drawn from a seeded random sequence.
+// Each request leaves at its own scheduled time whether or not earlier ones have completed, and its latency is
+// measured from that time: a stalled server shows up as latency instead of as fewer requests sent.
+// Logs throughput, errors and latency percentiles per route, and writes target/loadtest/summary.json plus one
+// HdrHistogram percentile distribution (.hgrm) per route to diff and plot against earlier runs.
+// Not part of the regular build, run it explicitly:
+//   mvn test -Dtest=TaskLoadTest -Dloadtest=true [-Dloadtest.rate=50 -Dloadtest.warmup=PT10S -Dloadtest.duration=PT30S
+//       -Dloadtest.tasks=10000 -Dloadtest.mix=login:1,create:10,get:40,patch-status:10,list:25,statistics:10,report:4]
+// The database is an embedded H2 (the h2 test profile), so a run needs nothing but the JDK;
+// -Dloadtest.database=postgresql runs against the configured spring.datasource instead.
+// The run fails when more than loadtest.max-error-rate of the requests fail.
+@Slf4j
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@ActiveProfiles(resolver = TaskLoadTest.DatabaseProfile.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class TaskLoadTest {
+
+    private static final String DEFAULT_MIX = "login:1,create:10,get:40,patch-status:10,list:25,statistics:10,report:4";
+    private static final Path OUTPUT_DIRECTORY = Path.of("target", "loadtest");
+    // Statuses a task can be moved to and away from again: a BLOCKED task refuses every later status change,
+    // so drawing BLOCKED would turn more and more of the patch-status requests into no-ops
+    private static final Task.TaskStatus[] TARGET_STATUSES = {
+            Task.TaskStatus.PENDING, Task.TaskStatus.IN_PROGRESS, Task.TaskStatus.COMPLETED};
+
+    private enum Operation {
+        LOGIN("login", "POST /auth/login"),
+        CREATE("create", "POST /api/tasks"),
+        GET("get", "GET /api/tasks/{id}"),
+        PATCH_STATUS("patch-status", "PATCH /api/tasks/{id}/status"),
+        LIST("list", "GET /api/tasks"),
+        STATISTICS("statistics", "GET /api/tasks/statistics"),
+        REPORT("report", "GET /api/tasks/report");
+
+        private final String key;
+        private final String route;
+
+        Operation(String key, String route) {
+            this.key = key;
+            this.route = route;
+        }
+
+        static Operation of(String key) {
+            return Arrays.stream(values())
+                    .filter(operation -> operation.key.equals(key))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown operation in loadtest.mix: " + key));
+        }
+    }
+
+    // Latencies in microseconds; auto-resizing, so a request of any duration is recorded as it was
+    private record RouteStats(Histogram latencies, LongAdder errors) {
+
+        RouteStats() {
+            this(new ConcurrentHistogram(3), new LongAdder());
+        }
+    }
+
+    private record RouteSummary(long requests, double throughput, long errors,
+                                double p50Millis, double p90Millis, double p99Millis, double p999Millis,
+                                double maxMillis) {
+    }
+
+    private record Summary(String database, double rate, double seconds, int seededTasks, String mix,
+                           Map<String, RouteSummary> routes) {
+    }
+
+    private static final String DATABASE = System.getProperty("loadtest.database", "h2");
+
+    private final double rate = Double.parseDouble(System.getProperty("loadtest.rate", "50"));
+    private final Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+    private final Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+    private final int seededTasks = Integer.getInteger("loadtest.tasks", 10_000);
+    private final String mix = System.getProperty("loadtest.mix", DEFAULT_MIX);
+    private final double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+    // One sequence of operations and arguments per run, so runs with the same settings send the same requests
+    private final Random random = new Random(42);
+    private final List<UUID> taskIds = new ArrayList<>();
+    private Operation[] weightedOperations;
+    private String token;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // h2 activates the h2 test profile; postgresql keeps the configured datasource
+    static class DatabaseProfile implements ActiveProfilesResolver {
+
+        @Override
+        public String[] resolve(Class<?> testClass) {
+            return switch (DATABASE) {
+                case "h2" -> new String[] {"h2"};
+                case "postgresql" -> new String[0];
+                default -> throw new IllegalArgumentException("Unknown loadtest.database: " + DATABASE);
+            };
+        }
+    }
+
+    @Test
+    void runLoad() throws Exception {
+        weightedOperations = parseMix(mix);
+        seed();
+        token = login();
+
+        drive(warmup, null);
+        Map<Operation, RouteStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new RouteStats());
+        }
+        long start = System.nanoTime();
+        drive(duration, stats);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long requests = stats.values().stream().mapToLong(route -> route.latencies().getTotalCount()).sum();
+        long errors = stats.values().stream().mapToLong(route -> route.errors().sum()).sum();
+        report(stats, seconds);
+        assertTrue(errors <= requests * maxErrorRate, errors + " of " + requests + " requests failed");
+    }
+
+    // Sends rate requests per second for the given time, then waits for the ones still in flight.
+    // Latencies are only recorded when stats is given (not during warm-up).
+    private void drive(Duration length, Map<Operation, RouteStats> stats) {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long count = length.toNanos() / interval;
+        List<CompletableFuture<?>> inFlight = new ArrayList<>((int) count);
+        long start = System.nanoTime();
+        for (long i = 0; i < count; i++) {
+            long scheduledAt = start + i * interval;
+            for (long wait = scheduledAt - System.nanoTime(); wait > 0; wait = scheduledAt - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+            inFlight.add(httpClient.sendAsync(request(operation), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        if (stats != null) {
+                            RouteStats route = stats.get(operation);
+                            route.latencies().recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledAt));
+                            if (failure != null || response.statusCode() >= 300) {
+                                route.errors().increment();
+                            }
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                .exceptionally(failure -> null)
+                .join();
+    }
+
+    private HttpRequest request(Operation operation) {
+        return switch (operation) {
+            case LOGIN -> post("/auth/login", "{\"username\":\"user\",\"password\":\"password\"}");
+            case CREATE -> post("/api/tasks", "{\"title\":\"Load %d\",\"description\":\"Created by the load test\"}"
+                    .formatted(random.nextInt(1_000_000)));
+            case GET -> get("/api/tasks/" + randomTaskId());
+            case PATCH_STATUS -> authorized("/api/tasks/" + randomTaskId() + "/status")
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"status\":\"%s\"}"
+                            .formatted(TARGET_STATUSES[random.nextInt(TARGET_STATUSES.length)])))
+                    .build();
+            case LIST -> get("/api/tasks?size=20");
+            case STATISTICS -> get("/api/tasks/statistics");
+            case REPORT -> get("/api/tasks/report");
+        };
+    }
+
+    private void report(Map<Operation, RouteStats> stats, double seconds) throws IOException {
+        Files.createDirectories(OUTPUT_DIRECTORY);
+        Map<String, RouteSummary> routes = new LinkedHashMap<>();
+        log.info(String.format("%-32s %9s %9s %7s %9s %9s %9s %9s %9s",
+                "Route", "Requests", "Req/s", "Errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        stats.forEach((operation, route) -> {
+            Histogram latencies = route.latencies();
+            if (latencies.getTotalCount() == 0) {
+                return;
+            }
+            RouteSummary summary = new RouteSummary(
+                    latencies.getTotalCount(),
+                    latencies.getTotalCount() / seconds,
+                    route.errors().sum(),
+                    latencies.getValueAtPercentile(50) / 1000.0,
+                    latencies.getValueAtPercentile(90) / 1000.0,
+                    latencies.getValueAtPercentile(99) / 1000.0,
+                    latencies.getValueAtPercentile(99.9) / 1000.0,
+                    latencies.getMaxValue() / 1000.0);
+            routes.put(operation.route, summary);
+            log.info(String.format("%-32s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f",
+                    operation.route, summary.requests(), summary.throughput(), summary.errors(),
+                    summary.p50Millis(), summary.p90Millis(), summary.p99Millis(), summary.p999Millis(),
+                    summary.maxMillis()));
+            try (PrintStream out = new PrintStream(OUTPUT_DIRECTORY.resolve(operation.key + ".hgrm").toFile())) {
+                latencies.outputPercentileDistribution(out, 1000.0);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot write the latency distribution of " + operation.route, e);
+            }
+        });
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(OUTPUT_DIRECTORY.resolve("summary.json").toFile(),
+                new Summary(DATABASE, rate, seconds, seededTasks, mix, routes));
+    }
+
+    // Seeded through the service in batches, like the batch endpoint would
+    private void seed() {
+        for (int from = 0; from < seededTasks; from += TaskService.MAX_BATCH_SIZE) {
+            List<TaskRequest> batch = IntStream.range(from, Math.min(from + TaskService.MAX_BATCH_SIZE, seededTasks))
+                    .mapToObj(i -> new TaskRequest("Task " + i, "Seeded task " + i))
+                    .toList();
+            taskService.createTasks(batch).forEach(task -> taskIds.add(task.id()));
+        }
+    }
+
+    private String login() throws Exception {
+        HttpResponse<String> response = httpClient.send(request(Operation.LOGIN), HttpResponse.BodyHandlers.ofString());
+        assertTrue(response.statusCode() == 200, "Login failed with " + response.statusCode());
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    // Weights like create:10,get:40 become an array holding each operation as many times as its weight
+    private static Operation[] parseMix(String mix) {
+        return Arrays.stream(mix.split(","))
+                .map(entry -> entry.trim().split(":"))
+                .flatMap(entry -> {
+                    Operation operation = Operation.of(entry[0]);
+                    return IntStream.range(0, Integer.parseInt(entry[1])).mapToObj(i -> operation);
+                })
+                .toArray(Operation[]::new);
+    }
+
+    private UUID randomTaskId() {
+        return taskIds.get(random.nextInt(taskIds.size()));
+    }
+
+    private HttpRequest get(String path) {
+        return authorized(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return authorized(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        return token != null ? builder.header("Authorization", "Bearer " + token) : builder;
+    }
+
+}
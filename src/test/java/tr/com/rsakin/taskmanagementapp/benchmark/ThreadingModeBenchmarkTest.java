@@ -0,0 +1,152 @@
+package tr.com.rsakin.taskmanagementapp.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskResponseDTO;
+import tr.com.rsakin.taskmanagementapp.service.TaskService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Compares platform and virtual request threads on the existing endpoints against the in-memory H2 profile,
+// with one database per mode so both contexts can stay cached side by side.
+// Not part of the regular build, run it explicitly:
+//   mvn test -Dtest='ThreadingModeBenchmarkTest*' -Dbenchmark=true [-Dbenchmark.concurrency=400 -Dbenchmark.requests=20000]
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@ActiveProfiles("h2")
+@Slf4j
+class ThreadingModeBenchmarkTest {
+
+    private static final int SEEDED_TASKS = 500;
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.threads.virtual.enabled=false",
+            "spring.datasource.url=jdbc:h2:mem:benchmark-platform;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1"
+    })
+    class PlatformThreads extends EndpointBenchmark {
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.threads.virtual.enabled=true",
+            "spring.datasource.url=jdbc:h2:mem:benchmark-virtual;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1"
+    })
+    class VirtualThreads extends EndpointBenchmark {
+    }
+
+    abstract static class EndpointBenchmark {
+
+        private final int concurrency = Integer.getInteger("benchmark.concurrency", 400);
+        private final int requests = Integer.getInteger("benchmark.requests", 20_000);
+        private final HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private TaskService taskService;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Test
+        void benchmarkEndpoints() throws Exception {
+            TaskResponseDTO task = null;
+            for (int i = 0; i < SEEDED_TASKS; i++) {
+                task = taskService.createTask("Task " + i, "Benchmark task " + i);
+            }
+            String token = login();
+
+            String mode = getClass().getSimpleName();
+            run(mode, "/api/tasks?size=20", token);
+            run(mode, "/api/tasks/" + task.id(), token);
+            run(mode, "/api/tasks/statistics", token);
+            run(mode, "/api/tasks/async", token);
+        }
+
+        private void run(String mode, String path, String token) throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+            // Warm-up, so the measurement does not include JIT and connection setup
+            execute(request, Math.max(concurrency, requests / 10));
+
+            long start = System.nanoTime();
+            long[] latencies = execute(request, requests);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            log.info("{} {}: {} req/s, p50 {} ms, p99 {} ms, max {} ms",
+                    mode, path, Math.round(requests / seconds),
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), millis(latencies[latencies.length - 1]));
+        }
+
+        // Sends `total` requests from `concurrency` concurrent clients and returns every latency in nanos
+        private long[] execute(HttpRequest request, int total) throws Exception {
+            long[] latencies = new long[total];
+            AtomicInteger next = new AtomicInteger();
+            // Platform client threads, so the client never competes with the server for virtual thread carriers
+            try (ExecutorService clients = Executors.newFixedThreadPool(concurrency)) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int c = 0; c < concurrency; c++) {
+                    futures.add(clients.submit(() -> {
+                        for (int i = next.getAndIncrement(); i < total; i = next.getAndIncrement()) {
+                            long sent = System.nanoTime();
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            latencies[i] = System.nanoTime() - sent;
+                            assertEquals(200, response.statusCode());
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+            return latencies;
+        }
+
+        private String login() throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"user\",\"password\":\"password\"}"))
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+            return objectMapper.readTree(response.body()).get("token").asText();
+        }
+
+        private static double percentile(long[] sortedLatencies, double percentile) {
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return millis(sortedLatencies[Math.max(index, 0)]);
+        }
+
+        // Nanos to millis, rounded to two decimals for the log line
+        private static double millis(long nanos) {
+            return Math.round(nanos / 1e4) / 100.0;
+        }
+    }
+
+}
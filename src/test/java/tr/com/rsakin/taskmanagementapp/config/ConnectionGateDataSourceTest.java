@@ -0,0 +1,59 @@
+package tr.com.rsakin.taskmanagementapp.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionGateDataSourceTest {
+
+    @Mock
+    private DataSource pool;
+
+    @Mock
+    private Connection connection;
+
+    private ConnectionGateDataSource gate;
+
+    @BeforeEach
+    void setUp() {
+        gate = new ConnectionGateDataSource(pool, 1, Duration.ofMillis(50));
+    }
+
+    @Test
+    void shouldHoldPermitUntilConnectionIsClosed() throws SQLException {
+        when(pool.getConnection()).thenReturn(connection);
+
+        Connection borrowed = gate.getConnection();
+
+        assertEquals(0, gate.getAvailablePermits());
+        assertThrows(SQLTransientConnectionException.class, gate::getConnection);
+
+        borrowed.close();
+        borrowed.close();
+
+        verify(connection, times(2)).close();
+        assertEquals(1, gate.getAvailablePermits());
+    }
+
+    @Test
+    void shouldReturnPermitWhenPoolFails() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        assertThrows(SQLException.class, gate::getConnection);
+
+        assertEquals(1, gate.getAvailablePermits());
+    }
+
+}
@@ -0,0 +1,157 @@
+package tr.com.rsakin.taskmanagementapp.config;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.ActiveProfiles;
+import tr.com.rsakin.taskmanagementapp.model.dto.request.TaskRequest;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskResponseDTO;
+import tr.com.rsakin.taskmanagementapp.security.JwtUtil;
+import tr.com.rsakin.taskmanagementapp.service.TaskService;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeferredFlushFilterTest {
+
+    private final DeferredFlushFilter filter = new DeferredFlushFilter();
+
+    @Test
+    void shouldKeepFlushedBodyUncommitted() throws Exception {
+        MockHttpServletResponse response = writeAndFlush("/api/tasks/statistics", MediaType.APPLICATION_JSON_VALUE, false);
+
+        assertFalse(response.isCommitted());
+        assertEquals("{\"total\":1}", response.getContentAsString());
+    }
+
+    @Test
+    void shouldKeepFlushedWriterUncommitted() throws Exception {
+        MockHttpServletResponse response = writeAndFlush("/api/tasks/statistics", MediaType.APPLICATION_CBOR_VALUE, true);
+
+        assertFalse(response.isCommitted());
+    }
+
+    @Test
+    void shouldFlushOtherContentTypes() throws Exception {
+        MockHttpServletResponse response = writeAndFlush("/api/tasks/statistics", MediaType.TEXT_EVENT_STREAM_VALUE, false);
+
+        assertTrue(response.isCommitted());
+    }
+
+    @Test
+    void shouldLeaveExportAndChangeFeedAlone() throws Exception {
+        assertTrue(writeAndFlush("/api/tasks/export", MediaType.APPLICATION_JSON_VALUE, false).isCommitted());
+        assertTrue(writeAndFlush("/api/reactive/tasks/changes", MediaType.APPLICATION_JSON_VALUE, false).isCommitted());
+        assertTrue(writeAndFlush("/api/tasksets", MediaType.APPLICATION_JSON_VALUE, true).isCommitted());
+    }
+
+    private MockHttpServletResponse writeAndFlush(String path, String contentType, boolean writer) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", path), response,
+                new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void doGet(HttpServletRequest request, HttpServletResponse servletResponse) throws IOException {
+                        servletResponse.setContentType(contentType);
+                        if (writer) {
+                            servletResponse.getWriter().write("{\"total\":1}");
+                            servletResponse.getWriter().flush();
+                        } else {
+                            servletResponse.getOutputStream().write("{\"total\":1}".getBytes(StandardCharsets.UTF_8));
+                            servletResponse.getOutputStream().flush();
+                        }
+                        servletResponse.flushBuffer();
+                    }
+                }));
+        return response;
+    }
+
+    // The Content-Length and compression decisions are Tomcat's, so these go through the real connector
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @ActiveProfiles("h2")
+    class OnTomcat {
+
+        private final HttpClient httpClient = HttpClient.newHttpClient();
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private TaskService taskService;
+
+        @Autowired
+        private JwtUtil jwtUtil;
+
+        private String token;
+
+        @BeforeEach
+        void setUp() {
+            token = jwtUtil.generateToken(User.withUsername("user").password("").roles("USER").build());
+        }
+
+        @Test
+        void shouldSendSmallResponseWithContentLengthUncompressed() throws Exception {
+            TaskResponseDTO task = taskService.createTask("Small", "Below the compression threshold");
+
+            HttpResponse<byte[]> response = get("/api/tasks/" + task.id());
+
+            assertEquals(200, response.statusCode());
+            assertEquals(String.valueOf(response.body().length),
+                    response.headers().firstValue(HttpHeaders.CONTENT_LENGTH).orElse(null));
+            assertTrue(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).isEmpty());
+        }
+
+        @Test
+        void shouldGzipLargeResponse() throws Exception {
+            taskService.createTasks(IntStream.range(0, 50)
+                    .mapToObj(i -> new TaskRequest("Large " + i, "Description of a page well above the threshold " + i))
+                    .toList());
+
+            HttpResponse<byte[]> response = get("/api/tasks?size=50");
+
+            assertEquals(200, response.statusCode());
+            assertEquals("gzip", response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+        }
+
+        // A buffered export would come back with a Content-Length; flushed, it is committed early as chunked
+        @Test
+        void shouldStreamExport() throws Exception {
+            taskService.createTask("Exported", "Small export");
+
+            HttpResponse<byte[]> response = get("/api/tasks/export?format=ndjson");
+
+            assertEquals(200, response.statusCode());
+            assertTrue(response.headers().firstValue(HttpHeaders.CONTENT_LENGTH).isEmpty());
+            assertTrue(response.body().length > 0);
+        }
+
+        private HttpResponse<byte[]> get(String path) throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                    .GET()
+                    .build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        }
+    }
+
+}
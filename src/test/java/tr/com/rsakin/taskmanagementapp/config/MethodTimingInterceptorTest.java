@@ -0,0 +1,71 @@
+package tr.com.rsakin.taskmanagementapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodTimingInterceptorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldTimeCallsPerMethodAndOutcome() {
+        Greeter greeter = proxy(new Greeter());
+
+        greeter.greet("Task");
+        greeter.greet("Task");
+        assertThrows(IllegalArgumentException.class, () -> greeter.greet(""));
+
+        assertEquals(2, meterRegistry.timer("test.invocations",
+                "class", "Greeter", "method", "greet", "exception", "none").count());
+        assertEquals(1, meterRegistry.timer("test.invocations",
+                "class", "Greeter", "method", "greet", "exception", "IllegalArgumentException").count());
+    }
+
+    @Test
+    void shouldTimeAsyncCallsWhenTheyComplete() {
+        Greeter greeter = proxy(new Greeter());
+
+        CompletableFuture<String> greeting = greeter.greetLater();
+        CompletableFuture<String> failure = greeter.greetLater();
+        assertEquals(0, meterRegistry.find("test.invocations").timers().size());
+
+        greeting.complete("Hello");
+        failure.completeExceptionally(new IllegalStateException("No name"));
+
+        assertEquals(1, meterRegistry.timer("test.invocations",
+                "class", "Greeter", "method", "greetLater", "exception", "none").count());
+        assertEquals(1, meterRegistry.timer("test.invocations",
+                "class", "Greeter", "method", "greetLater", "exception", "IllegalStateException").count());
+    }
+
+    private Greeter proxy(Greeter target) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addAdvice(new MethodTimingInterceptor(
+                "test.invocations", "Test", beanFactory.getBeanProvider(MeterRegistry.class)));
+        return (Greeter) proxyFactory.getProxy();
+    }
+
+    static class Greeter {
+
+        public String greet(String name) {
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Name cannot be empty");
+            }
+            return "Hello " + name;
+        }
+
+        public CompletableFuture<String> greetLater() {
+            return new CompletableFuture<>();
+        }
+    }
+
+}
@@ -0,0 +1,188 @@
+package tr.com.rsakin.taskmanagementapp.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import tr.com.rsakin.taskmanagementapp.model.dto.request.TaskRequest;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskResponseDTO;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskStatistics;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+import tr.com.rsakin.taskmanagementapp.security.JwtUtil;
+import tr.com.rsakin.taskmanagementapp.service.TaskService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class WireFormatConfigTest {
+
+    private final WireFormatConfig wireFormatConfig = new WireFormatConfig();
+    private final ObjectMapper json = springBootBuilder().build();
+
+    private final List<TaskResponseDTO> tasks = List.of(
+            new TaskResponseDTO(UUID.randomUUID(), "Task 1", "Description", Task.TaskStatus.PENDING,
+                    LocalDateTime.of(2025, 1, 1, 9, 0, 0, 123_000_000), Task.LowPriority.INSTANCE),
+            new TaskResponseDTO(UUID.randomUUID(), "Task 2", null, Task.TaskStatus.BLOCKED,
+                    LocalDateTime.of(2025, 1, 2, 9, 0), Task.HighPriority.INSTANCE));
+
+    @Test
+    void shouldEncodeSameContentAsJsonInCbor() throws Exception {
+        assertSameContentAsJson(wireFormatConfig.cborHttpMessageConverter(springBootBuilder()));
+    }
+
+    @Test
+    void shouldEncodeSameContentAsJsonInSmile() throws Exception {
+        assertSameContentAsJson(wireFormatConfig.smileHttpMessageConverter(springBootBuilder()));
+    }
+
+    private void assertSameContentAsJson(AbstractJackson2HttpMessageConverter converter) throws Exception {
+        ObjectMapper binary = converter.getObjectMapper();
+        Map<String, Object> responses = Map.of(
+                "list", tasks,
+                "grouped", Map.of(Task.TaskStatus.PENDING, tasks.subList(0, 1), Task.TaskStatus.BLOCKED, tasks.subList(1, 2)),
+                "statistics", new TaskStatistics(2, 1, 0, 1, 0));
+
+        for (Object response : responses.values()) {
+            byte[] encoded = binary.writeValueAsBytes(response);
+            byte[] encodedJson = json.writeValueAsBytes(response);
+            JsonNode decoded = binary.readTree(encoded);
+
+            assertEquals(json.readTree(encodedJson), decoded);
+        }
+        byte[] list = binary.writeValueAsBytes(tasks);
+        assertTrue(list.length < json.writeValueAsBytes(tasks).length);
+    }
+
+    // Which converter answers is picked by Accept, through the whole MVC stack
+    @Nested
+    @SpringBootTest
+    @AutoConfigureMockMvc
+    @ActiveProfiles("h2")
+    class Negotiation {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private TaskService taskService;
+
+        @Autowired
+        private JwtUtil jwtUtil;
+
+        private String token;
+        private TaskResponseDTO task;
+
+        @BeforeEach
+        void setUp() {
+            token = jwtUtil.generateToken(User.withUsername("user").password("").roles("USER").build());
+            task = taskService.createTask("Negotiated", "Description");
+        }
+
+        @Test
+        void shouldAnswerCborAndSmileWhenAskedFor() throws Exception {
+            byte[] cbor = getTask(MediaType.APPLICATION_CBOR_VALUE)
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                    .andReturn().getResponse().getContentAsByteArray();
+            getTask(WireFormatConfig.APPLICATION_SMILE_VALUE)
+                    .andExpect(content().contentType(WireFormatConfig.APPLICATION_SMILE_VALUE));
+
+            assertEquals(task.id().toString(), new CBORMapper().readTree(cbor).get("id").asText());
+        }
+
+        @Test
+        void shouldAnswerJsonToAnyOtherAccept() throws Exception {
+            getTask(MediaType.ALL_VALUE).andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+            getTask(null).andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        }
+
+        private ResultActions getTask(String accept) throws Exception {
+            MockHttpServletRequestBuilder request = get("/api/tasks/{id}", task.id())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+            if (accept != null) {
+                request.header(HttpHeaders.ACCEPT, accept);
+            }
+            return mockMvc.perform(request).andExpect(status().isOk());
+        }
+    }
+
+    // server.compression.min-response-size holds for the binary formats too; compression is Tomcat's, so a real port
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @ActiveProfiles("h2")
+    class Compression {
+
+        private final HttpClient httpClient = HttpClient.newHttpClient();
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private TaskService taskService;
+
+        @Autowired
+        private JwtUtil jwtUtil;
+
+        @Test
+        void shouldGzipCborOnlyAboveThreshold() throws Exception {
+            TaskResponseDTO small = taskService.createTask("Small", "Below the compression threshold");
+            taskService.createTasks(IntStream.range(0, 50)
+                    .mapToObj(i -> new TaskRequest("Large " + i, "Description of a page well above the threshold " + i))
+                    .toList());
+
+            HttpResponse<byte[]> smallResponse = getCbor("/api/tasks/" + small.id());
+            HttpResponse<byte[]> largeResponse = getCbor("/api/tasks?size=50");
+
+            assertEquals(200, smallResponse.statusCode());
+            assertTrue(smallResponse.headers().firstValue(HttpHeaders.CONTENT_ENCODING).isEmpty());
+            assertEquals(200, largeResponse.statusCode());
+            assertEquals(MediaType.APPLICATION_CBOR_VALUE, largeResponse.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElse(null));
+            assertEquals("gzip", largeResponse.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+        }
+
+        private HttpResponse<byte[]> getCbor(String path) throws Exception {
+            String token = jwtUtil.generateToken(User.withUsername("user").password("").roles("USER").build());
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE)
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                    .GET()
+                    .build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        }
+    }
+
+    // What Spring Boot configures the injected builder with
+    private static Jackson2ObjectMapperBuilder springBootBuilder() {
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+}
@@ -10,7 +10,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import tr.com.rsakin.taskmanagementapp.model.dto.request.StatusUpdateRequest;
 import tr.com.rsakin.taskmanagementapp.model.dto.request.TaskRequest;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.CursorPage;
 import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskResponseDTO;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskSummaryDTO;
 import tr.com.rsakin.taskmanagementapp.model.entity.Task;
 import tr.com.rsakin.taskmanagementapp.service.TaskService;
 
@@ -20,6 +22,8 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -36,7 +40,7 @@ class TaskControllerTest {
     void shouldCreateTask() {
         TaskRequest request = new TaskRequest("Test Task", "Description");
         TaskResponseDTO taskResponseDTO = new TaskResponseDTO(UUID.randomUUID(), "Test Task",
-                "Description", Task.TaskStatus.PENDING, LocalDateTime.now(), new Task.LowPriority());
+                "Description", Task.TaskStatus.PENDING, LocalDateTime.now(), Task.LowPriority.INSTANCE);
 
         when(taskService.createTask(anyString(), anyString())).thenReturn(taskResponseDTO);
 
@@ -50,22 +54,74 @@ class TaskControllerTest {
     @Test
     void shouldGetAllTasks() {
         TaskResponseDTO taskResponseDTO = new TaskResponseDTO(UUID.randomUUID(), "Test Task",
-                "Description", Task.TaskStatus.PENDING, LocalDateTime.now(), new Task.LowPriority());
+                "Description", Task.TaskStatus.PENDING, LocalDateTime.now(), Task.LowPriority.INSTANCE);
         List<TaskResponseDTO> taskResponseDTOList = Collections.singletonList(taskResponseDTO);
 
-        when(taskService.getAllTasks()).thenReturn(taskResponseDTOList);
+        when(taskService.getTasksPage(null, 20)).thenReturn(new CursorPage<>(taskResponseDTOList, null));
 
-        ResponseEntity<List<TaskResponseDTO>> response = taskController.getAllTasks();
+        ResponseEntity<List<?>> response = taskController.getAllTasks(null, 20, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertFalse(response.getBody().isEmpty());
+        assertFalse(response.getHeaders().containsKey(TaskController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void shouldReturnNextCursorHeaderWhenMoreTasksExist() {
+        TaskResponseDTO taskResponseDTO = new TaskResponseDTO(UUID.randomUUID(), "Test Task",
+                "Description", Task.TaskStatus.PENDING, LocalDateTime.now(), Task.LowPriority.INSTANCE);
+
+        when(taskService.getTasksPage("cursor", 1)).thenReturn(new CursorPage<>(List.of(taskResponseDTO), "next"));
+
+        ResponseEntity<List<?>> response = taskController.getAllTasks("cursor", 1, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("next", response.getHeaders().getFirst(TaskController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void shouldReturnBadRequestForInvalidCursor() {
+        when(taskService.getTasksPage("broken", 20)).thenThrow(IllegalArgumentException.class);
+
+        ResponseEntity<List<?>> response = taskController.getAllTasks("broken", 20, null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void shouldServeSummaryProjectionWhenOnlySummaryFieldsAreRequested() {
+        TaskSummaryDTO summary = new TaskSummaryDTO(UUID.randomUUID(), "Test Task", Task.TaskStatus.PENDING, Task.LowPriority.INSTANCE);
+        when(taskService.getTaskSummariesPage(null, 20)).thenReturn(new CursorPage<>(List.of(summary), null));
+
+        ResponseEntity<List<?>> response = taskController.getAllTasks(null, 20, "id, title,status,priority");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(summary), response.getBody());
+        verify(taskService, never()).getTasksPage(any(), anyInt());
+    }
+
+    @Test
+    void shouldServeFullTasksWhenAFieldOutsideTheSummaryIsRequested() {
+        when(taskService.getTasksPage(null, 20)).thenReturn(new CursorPage<>(List.of(), null));
+
+        taskController.getAllTasks(null, 20, "title,description");
+
+        verify(taskService, never()).getTaskSummariesPage(any(), anyInt());
+    }
+
+    @Test
+    void shouldReturnBadRequestForUnknownField() {
+        ResponseEntity<List<?>> response = taskController.getAllTasks(null, 20, "title,owner");
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(taskService);
     }
 
     @Test
     void shouldGetTaskById() {
         UUID taskId = UUID.randomUUID();
         TaskResponseDTO taskResponseDTO = new TaskResponseDTO(taskId, "Test Task",
-                "Description", Task.TaskStatus.PENDING, LocalDateTime.now(), new Task.LowPriority());
+                "Description", Task.TaskStatus.PENDING, LocalDateTime.now(), Task.LowPriority.INSTANCE);
 
         when(taskService.getTaskById(taskId)).thenReturn(taskResponseDTO);
 
@@ -91,9 +147,9 @@ class TaskControllerTest {
     void shouldUpdateTaskStatus() {
         UUID taskId = UUID.randomUUID();
         StatusUpdateRequest request = new StatusUpdateRequest(Task.TaskStatus.COMPLETED);
-        Task updatedTask = new Task(taskId, "Test Task", "Description", Task.TaskStatus.COMPLETED, LocalDateTime.now(), LocalDateTime.now(), 1, "Low");
+        Task updatedTask = new Task(taskId, "Test Task", "Description", Task.TaskStatus.COMPLETED, LocalDateTime.now(), LocalDateTime.now(), 1, "Low", 0L);
 
-        when(taskService.updateTaskStatus(taskId, Task.TaskStatus.COMPLETED)).thenReturn(updatedTask);
+        when(taskService.updateTaskStatus(taskId, Task.TaskStatus.COMPLETED, null)).thenReturn(updatedTask);
 
         ResponseEntity<Task> response = taskController.updateTaskStatus(taskId, request);
 
@@ -106,7 +162,7 @@ class TaskControllerTest {
         UUID nonExistingId = UUID.randomUUID();
         StatusUpdateRequest request = new StatusUpdateRequest(Task.TaskStatus.COMPLETED);
 
-        when(taskService.updateTaskStatus(nonExistingId, Task.TaskStatus.COMPLETED)).thenThrow(IllegalArgumentException.class);
+        when(taskService.updateTaskStatus(nonExistingId, Task.TaskStatus.COMPLETED, null)).thenThrow(IllegalArgumentException.class);
 
         ResponseEntity<Task> response = taskController.updateTaskStatus(nonExistingId, request);
 
@@ -126,12 +182,12 @@ class TaskControllerTest {
 
     @Test
     void shouldGetTasksByStatus() {
-        TaskResponseDTO taskResponseDTO = new TaskResponseDTO(UUID.randomUUID(), "Test Task", "Description", Task.TaskStatus.PENDING, LocalDateTime.now(), new Task.LowPriority());
+        TaskResponseDTO taskResponseDTO = new TaskResponseDTO(UUID.randomUUID(), "Test Task", "Description", Task.TaskStatus.PENDING, LocalDateTime.now(), Task.LowPriority.INSTANCE);
         List<TaskResponseDTO> taskResponseDTOList = Collections.singletonList(taskResponseDTO);
 
-        when(taskService.getTasksByStatus(Task.TaskStatus.PENDING)).thenReturn(taskResponseDTOList);
+        when(taskService.getTasksPageByStatus(Task.TaskStatus.PENDING, null, 20)).thenReturn(new CursorPage<>(taskResponseDTOList, null));
 
-        ResponseEntity<List<TaskResponseDTO>> response = taskController.getTasksByStatus(Task.TaskStatus.PENDING);
+        ResponseEntity<List<?>> response = taskController.getTasksByStatus(Task.TaskStatus.PENDING, null, 20, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertFalse(response.getBody().isEmpty());
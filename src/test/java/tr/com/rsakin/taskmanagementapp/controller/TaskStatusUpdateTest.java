@@ -0,0 +1,90 @@
+package tr.com.rsakin.taskmanagementapp.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskResponseDTO;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+import tr.com.rsakin.taskmanagementapp.repository.TaskRepository;
+import tr.com.rsakin.taskmanagementapp.security.JwtUtil;
+import tr.com.rsakin.taskmanagementapp.service.TaskService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// PATCH /api/tasks/{id}/status end to end on the embedded database, which takes the portable compare-and-set
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class TaskStatusUpdateTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String token;
+    private TaskResponseDTO task;
+
+    @BeforeEach
+    void setUp() {
+        token = jwtUtil.generateToken(User.withUsername("user").password("").roles("USER").build());
+        task = taskService.createTask("Status", "Description");
+    }
+
+    @Test
+    void shouldUpdateStatusAndBumpVersion() throws Exception {
+        mockMvc.perform(patchStatus("{\"status\":\"IN_PROGRESS\",\"version\":0}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.priorityValue").value(2))
+                .andExpect(jsonPath("$.version").value(1));
+
+        Task stored = taskRepository.findById(task.id()).orElseThrow();
+        assertEquals(Task.TaskStatus.IN_PROGRESS, stored.getStatus());
+        assertEquals(1L, stored.getVersion());
+    }
+
+    @Test
+    void shouldRejectStaleVersion() throws Exception {
+        mockMvc.perform(patchStatus("{\"status\":\"IN_PROGRESS\"}")).andExpect(status().isOk());
+
+        mockMvc.perform(patchStatus("{\"status\":\"COMPLETED\",\"version\":0}"))
+                .andExpect(status().isConflict());
+        assertEquals(Task.TaskStatus.IN_PROGRESS, taskRepository.findById(task.id()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void shouldLeaveBlockedTaskAlone() throws Exception {
+        mockMvc.perform(patchStatus("{\"status\":\"BLOCKED\"}")).andExpect(status().isOk());
+
+        mockMvc.perform(patchStatus("{\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isNoContent());
+        assertEquals(Task.TaskStatus.BLOCKED, taskRepository.findById(task.id()).orElseThrow().getStatus());
+    }
+
+    private MockHttpServletRequestBuilder patchStatus(String body) {
+        return patch("/api/tasks/{id}/status", task.id())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+
+}
@@ -0,0 +1,75 @@
+package tr.com.rsakin.taskmanagementapp.model.dto.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskResponseDTOSerializerTest {
+
+    // Dates as ISO-8601 text, like Spring Boot configures its mapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    // What the responses looked like before: the same mapper, ignoring the serializer on the record
+    private final ObjectMapper databind = databind()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final List<TaskResponseDTO> tasks = List.of(
+            task(Task.TaskStatus.PENDING, "Plain", "Description", LocalDateTime.of(2025, 1, 1, 9, 0)),
+            task(Task.TaskStatus.IN_PROGRESS, "Quote \" and ü", null, LocalDateTime.of(2025, 12, 31, 23, 59, 59, 123_000_000)),
+            task(Task.TaskStatus.BLOCKED, "Tab\tand newline\n", "", LocalDateTime.of(1999, 2, 3, 4, 5, 6, 1_000)),
+            task(Task.TaskStatus.COMPLETED, "Nanos", "Description", LocalDateTime.of(2025, 6, 7, 8, 9, 10, 999_999_999)),
+            task(Task.TaskStatus.PENDING, "Far future", "Description", LocalDateTime.of(12025, 1, 1, 0, 0)),
+            new TaskResponseDTO(new UUID(1, 2), "Leading zeros", "Description", Task.TaskStatus.PENDING,
+                    LocalDateTime.of(1, 1, 1, 0, 0), Task.LowPriority.INSTANCE),
+            new TaskResponseDTO(null, null, null, null, null, null));
+
+    @Test
+    void shouldWriteSameJsonAsDatabindForLists() throws Exception {
+        assertEquals(databind.writeValueAsString(tasks), objectMapper.writeValueAsString(tasks));
+    }
+
+    @Test
+    void shouldWriteSameJsonAsDatabindForGroupedTasks() throws Exception {
+        Map<Task.TaskStatus, List<TaskResponseDTO>> grouped = new EnumMap<>(Task.TaskStatus.class);
+        grouped.put(Task.TaskStatus.PENDING, tasks.subList(0, 2));
+        grouped.put(Task.TaskStatus.BLOCKED, tasks.subList(2, 4));
+
+        assertEquals(databind.writeValueAsString(grouped), objectMapper.writeValueAsString(grouped));
+    }
+
+    @Test
+    void shouldWriteDatesAsTimestampsWhenMapperDoes() throws Exception {
+        assertEquals(databind().build().writeValueAsString(tasks),
+                Jackson2ObjectMapperBuilder.json().build().writeValueAsString(tasks));
+    }
+
+    private static Jackson2ObjectMapperBuilder databind() {
+        return Jackson2ObjectMapperBuilder.json()
+                .annotationIntrospector(new JacksonAnnotationIntrospector() {
+                    @Override
+                    public Object findSerializer(Annotated annotated) {
+                        return annotated.getRawType() == TaskResponseDTO.class ? null : super.findSerializer(annotated);
+                    }
+                });
+    }
+
+    private static TaskResponseDTO task(Task.TaskStatus status, String title, String description, LocalDateTime createdAt) {
+        return new TaskResponseDTO(UUID.randomUUID(), title, description, status, createdAt, Task.priorityOf(status));
+    }
+
+}
@@ -0,0 +1,31 @@
+package tr.com.rsakin.taskmanagementapp.model.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskTest {
+
+    @Test
+    void shouldMapPriorityValuesToSharedInstances() {
+        assertSame(Task.LowPriority.INSTANCE, Task.Priority.ofValue(1));
+        assertSame(Task.MediumPriority.INSTANCE, Task.Priority.ofValue(2));
+        assertSame(Task.HighPriority.INSTANCE, Task.Priority.ofValue(3));
+        assertThrows(IllegalArgumentException.class, () -> Task.Priority.ofValue(0));
+        assertThrows(IllegalArgumentException.class, () -> Task.Priority.ofValue(4));
+    }
+
+    @Test
+    void shouldReadPriorityFromStoredValueAndDeriveItBeforePersisting() {
+        Task stored = new Task(UUID.randomUUID(), "Task 1", "Description", Task.TaskStatus.PENDING,
+                LocalDateTime.now(), LocalDateTime.now(), 3, "High", 0L);
+        Task unsaved = Task.builder().title("Task 2").status(Task.TaskStatus.IN_PROGRESS).build();
+
+        assertSame(Task.HighPriority.INSTANCE, stored.getPriority());
+        assertSame(Task.MediumPriority.INSTANCE, unsaved.getPriority());
+    }
+
+}
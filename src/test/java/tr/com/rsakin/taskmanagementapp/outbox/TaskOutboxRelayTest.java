@@ -0,0 +1,210 @@
+package tr.com.rsakin.taskmanagementapp.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+import tr.com.rsakin.taskmanagementapp.model.entity.TaskOutboxEvent;
+import tr.com.rsakin.taskmanagementapp.repository.TaskOutboxRepository;
+import tr.com.rsakin.taskmanagementapp.repository.TaskRepository;
+import tr.com.rsakin.taskmanagementapp.service.TaskEvent;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: the relay claims and deletes rows in transactions of its own, like in production
+@DataJpaTest
+@Import({TaskOutbox.class, TaskOutboxRelay.class, TaskOutboxRelayTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskOutboxRelayTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return JsonMapper.builder().findAndAddModules().build();
+        }
+
+        @Bean
+        TaskOutboxProperties taskOutboxProperties() {
+            return new TaskOutboxProperties(BATCH_SIZE, TaskOutboxProperties.Sink.MEMORY, Path.of("unused"), 100);
+        }
+
+        @Bean
+        FailingSink taskOutboxSink() {
+            return new FailingSink();
+        }
+    }
+
+    // In-memory sink that can be switched to throwing
+    static class FailingSink extends InMemoryTaskOutboxSink {
+
+        volatile boolean failing;
+
+        FailingSink() {
+            super(100);
+        }
+
+        @Override
+        public synchronized void publish(List<OutboxMessage> batch) {
+            if (failing) {
+                throw new IllegalStateException("Sink unavailable");
+            }
+            super.publish(batch);
+        }
+    }
+
+    @Autowired
+    private TaskOutbox taskOutbox;
+
+    @Autowired
+    private TaskOutboxRelay taskOutboxRelay;
+
+    @Autowired
+    private TaskOutboxRepository taskOutboxRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private FailingSink sink;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        taskOutboxRepository.deleteAll();
+        taskRepository.deleteAll();
+        sink.clear();
+        sink.failing = false;
+    }
+
+    @Test
+    void shouldCommitOrRollBackEventsWithTheTaskChange() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> createTask("Committed"));
+        transaction.executeWithoutResult(status -> {
+            createTask("Rolled back");
+            status.setRollbackOnly();
+        });
+
+        List<TaskOutboxEvent> events = taskOutboxRepository.findAll();
+        assertEquals(1, events.size());
+        assertEquals("CREATED", events.getFirst().getEventType());
+        assertTrue(events.getFirst().getPayload().contains("\"title\":\"Committed\""));
+        assertThrows(IllegalTransactionStateException.class, () -> taskOutbox.record(TaskEvent.created(task("Outside"))));
+    }
+
+    @Test
+    void shouldDrainOutboxInBatchesInWriteOrder() {
+        List<Task> tasks = IntStream.range(0, 5).mapToObj(i -> task("Task " + i)).toList();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                taskOutbox.recordAll(tasks.stream().map(TaskEvent::created).toList()));
+        double relayed = meterRegistry.counter("task.outbox.relayed").count();
+        long batches = meterRegistry.timer("task.outbox.batch").count();
+        assertEquals(5, meterRegistry.get("task.outbox.pending").gauge().value());
+
+        taskOutboxRelay.drain();
+
+        assertEquals(tasks.stream().map(Task::getId).toList(), sink.messages().stream().map(OutboxMessage::taskId).toList());
+        assertEquals(0, taskOutboxRepository.count());
+        assertEquals(relayed + 5, meterRegistry.counter("task.outbox.relayed").count());
+        assertEquals(batches + 3, meterRegistry.timer("task.outbox.batch").count());
+        assertEquals(0, meterRegistry.get("task.outbox.pending").gauge().value());
+    }
+
+    @Test
+    void shouldKeepBatchWhenSinkFails() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> createTask("Task"));
+        sink.failing = true;
+        double failures = meterRegistry.counter("task.outbox.failures").count();
+
+        taskOutboxRelay.drain();
+
+        assertEquals(1, taskOutboxRepository.count());
+        assertEquals(failures + 1, meterRegistry.counter("task.outbox.failures").count());
+
+        sink.failing = false;
+        taskOutboxRelay.drain();
+
+        assertEquals(1, sink.messages().size());
+        assertEquals(0, taskOutboxRepository.count());
+    }
+
+    @Test
+    void shouldSkipBatchClaimedByAnotherRelay() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                taskOutbox.recordAll(IntStream.range(0, 4).mapToObj(i -> TaskEvent.created(task("Task " + i))).toList()));
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Another instance holds the first batch locked while this one relays
+        CompletableFuture<List<Long>> otherRelay = CompletableFuture.supplyAsync(() ->
+                new TransactionTemplate(transactionManager).execute(status -> {
+                    List<Long> ids = taskOutboxRepository.lockNextBatch(BATCH_SIZE).stream()
+                            .map(TaskOutboxEvent::getId)
+                            .toList();
+                    claimed.countDown();
+                    await(release);
+                    return ids;
+                }));
+        assertTrue(claimed.await(5, TimeUnit.SECONDS));
+
+        taskOutboxRelay.relayBatch();
+        release.countDown();
+
+        List<Long> claimedIds = otherRelay.get(5, TimeUnit.SECONDS);
+        List<Long> relayedIds = sink.messages().stream().map(OutboxMessage::id).toList();
+        assertEquals(BATCH_SIZE, relayedIds.size());
+        assertTrue(relayedIds.stream().noneMatch(claimedIds::contains));
+    }
+
+    private void createTask(String title) {
+        Task task = taskRepository.save(task(title));
+        taskOutbox.record(TaskEvent.created(task));
+    }
+
+    private static Task task(String title) {
+        return Task.builder().title(title).description("Description").build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
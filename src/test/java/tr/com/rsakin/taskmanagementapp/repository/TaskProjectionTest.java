@@ -0,0 +1,96 @@
+package tr.com.rsakin.taskmanagementapp.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The summary projections have to return the same rows, in the same order, as the full pages they stand in for,
+// without loading a single entity
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TaskProjectionTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 6; i++) {
+            Task task = Task.builder()
+                    .title("Task " + i)
+                    .description("Description " + i)
+                    .createdAt(now.plusMinutes(i % 3))
+                    .build();
+            taskRepository.save(i % 2 == 0 ? task : task.updateStatus(Task.TaskStatus.IN_PROGRESS));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void summaryPagesMatchFullPages() {
+        List<Task> firstPage = taskRepository.findAllByOrderByCreatedAtDescIdDesc(Limit.of(3));
+        Task last = firstPage.getLast();
+        List<Task> nextPage = taskRepository.findPageAfter(last.getCreatedAt(), last.getId(), Limit.of(10));
+        entityManager.clear();
+        statistics.clear();
+
+        List<TaskRepository.TaskSummary> firstSummaries = taskRepository.findSummariesByOrderByCreatedAtDescIdDesc(Limit.of(3));
+        List<TaskRepository.TaskSummary> nextSummaries = taskRepository.findSummaryPageAfter(last.getCreatedAt(), last.getId(), Limit.of(10));
+
+        assertEquals(firstPage.stream().map(Task::getId).toList(), firstSummaries.stream().map(TaskRepository.TaskSummary::id).toList());
+        assertEquals(nextPage.stream().map(Task::getId).toList(), nextSummaries.stream().map(TaskRepository.TaskSummary::id).toList());
+        assertEquals(last.getTitle(), firstSummaries.getLast().title());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void summaryPagesFilterByStatusAndPriority() {
+        List<TaskRepository.TaskSummary> inProgress = taskRepository.findSummariesByStatusOrderByCreatedAtDescIdDesc(
+                Task.TaskStatus.IN_PROGRESS, Limit.of(10));
+        TaskRepository.TaskSummary newest = inProgress.getFirst();
+        List<TaskRepository.TaskSummary> olderInProgress = taskRepository.findSummaryPageByStatusAfter(
+                Task.TaskStatus.IN_PROGRESS, newest.createdAt(), newest.id(), Limit.of(10));
+        List<TaskRepository.TaskSummary> lowPriority = taskRepository.findSummariesByPriorityValueOrderByCreatedAtDescIdDesc(1, Limit.of(10));
+        List<TaskRepository.TaskSummary> olderLowPriority = taskRepository.findSummaryPageByPriorityValueAfter(
+                1, lowPriority.getFirst().createdAt(), lowPriority.getFirst().id(), Limit.of(10));
+
+        assertEquals(3, inProgress.size());
+        assertTrue(inProgress.stream().allMatch(summary -> summary.priority().getValue() == 2));
+        assertEquals(inProgress.subList(1, 3), olderInProgress);
+        assertEquals(3, lowPriority.size());
+        assertTrue(lowPriority.stream().allMatch(summary -> summary.priority().getValue() == 1));
+        assertEquals(lowPriority.subList(1, 3), olderLowPriority);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void summariesByIdsLoadOnlyTheGivenTasks() {
+        List<TaskRepository.TaskSummary> summaries = taskRepository.findSummariesByOrderByCreatedAtDescIdDesc(Limit.of(2));
+
+        List<TaskRepository.TaskSummary> byIds = taskRepository.findSummariesByIdIn(
+                summaries.stream().map(TaskRepository.TaskSummary::id).toList());
+
+        assertEquals(2, byIds.size());
+        assertTrue(byIds.containsAll(summaries));
+    }
+
+}
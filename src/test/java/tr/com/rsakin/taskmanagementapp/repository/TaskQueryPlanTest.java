@@ -0,0 +1,218 @@
+package tr.com.rsakin.taskmanagementapp.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Guards the indexes of the Flyway migrations: every query shape TaskRepository runs has to be answered through an
+// index, so a dropped or mismatched index (a full table scan) fails the build.
+// The plans are taken of the SQL Hibernate generates for the repository methods, captured with a StatementInspector,
+// on the embedded H2 database and on the configured PostgreSQL, which also has the partial indexes of open tasks.
+class TaskQueryPlanTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Nested
+    @DataJpaTest
+    @Import(SqlCapture.class)
+    class H2 extends QueryPlans {
+
+        @Autowired
+        private DataSource dataSource;
+
+        H2() {
+            super("idx_tasks_created_at_id", "idx_tasks_priority_created_at_id");
+        }
+
+        // H2 accepts unbound parameters in EXPLAIN
+        @Override
+        String explain(String sql) throws Exception {
+            try (Connection connection = dataSource.getConnection();
+                 ResultSet plan = connection.prepareStatement("EXPLAIN " + sql).executeQuery()) {
+                plan.next();
+                String text = plan.getString(1);
+                assertFalse(text.contains("tableScan"), () -> "Full table scan:\n" + text);
+                return text;
+            }
+        }
+    }
+
+    @Nested
+    @DataJpaTest
+    @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+    @Import(SqlCapture.class)
+    class PostgreSQL extends QueryPlans {
+
+        @Autowired
+        private DataSourceProperties dataSourceProperties;
+
+        PostgreSQL() {
+            super("idx_tasks_open_created_at", "idx_tasks_open_priority_created_at");
+        }
+
+        // GENERIC_PLAN plans the statement with its $n parameters unbound, as a prepared statement runs it. That takes
+        // the simple query protocol, so a connection of its own. Sequential scans are turned off: on a small table the
+        // planner would rightly prefer them, while the question here is whether an index can answer the query at all.
+        @Override
+        String explain(String sql) throws Exception {
+            Properties properties = new Properties();
+            properties.setProperty("user", dataSourceProperties.getUsername());
+            properties.setProperty("password", dataSourceProperties.getPassword());
+            properties.setProperty("preferQueryMode", "simple");
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.getUrl(), properties);
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                StringBuilder text = new StringBuilder();
+                try (ResultSet plan = statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + numberParameters(sql))) {
+                    while (plan.next()) {
+                        text.append(plan.getString(1)).append('\n');
+                    }
+                }
+                assertFalse(text.toString().contains("Seq Scan"), () -> "Full table scan:\n" + text);
+                return text.toString();
+            }
+        }
+
+        private static String numberParameters(String sql) {
+            Matcher parameter = Pattern.compile("\\?").matcher(sql);
+            StringBuilder numbered = new StringBuilder();
+            int index = 0;
+            while (parameter.find()) {
+                parameter.appendReplacement(numbered, "\\$" + ++index);
+            }
+            return parameter.appendTail(numbered).toString();
+        }
+    }
+
+    abstract static class QueryPlans {
+
+        // Indexes of the open-task queries, partial ones where the database has them
+        private final String overdueIndex;
+        private final String priorityToCompleteIndex;
+
+        @Autowired
+        private TaskRepository taskRepository;
+
+        @Autowired
+        private SqlCapture sqlCapture;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        QueryPlans(String overdueIndex, String priorityToCompleteIndex) {
+            this.overdueIndex = overdueIndex;
+            this.priorityToCompleteIndex = priorityToCompleteIndex;
+        }
+
+        abstract String explain(String sql) throws Exception;
+
+        @BeforeEach
+        void setUp() {
+            // A query cache hit would send no SQL to capture
+            entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictAllRegions();
+        }
+
+        @Test
+        void keysetPageOfAllTasksUsesCreatedAtIndex() throws Exception {
+            taskRepository.findPageAfter(DATE, UUID.randomUUID(), Limit.of(21));
+            assertLastQueryUses("idx_tasks_created_at_id");
+        }
+
+        @Test
+        void createdAtRangeUsesCreatedAtIndex() throws Exception {
+            taskRepository.findByCreatedAtBetween(DATE, DATE.plusMonths(1));
+            assertLastQueryUses("idx_tasks_created_at_id");
+        }
+
+        @Test
+        void tasksByStatusUseStatusIndex() throws Exception {
+            taskRepository.findByStatusOrderByCreatedAtDescIdDesc(Task.TaskStatus.PENDING, Limit.of(21));
+            assertLastQueryUses("idx_tasks_status_created_at_id");
+        }
+
+        @Test
+        void countByStatusUsesStatusIndex() throws Exception {
+            taskRepository.countByStatus(Task.TaskStatus.BLOCKED);
+            assertLastQueryUses("idx_tasks_status_created_at_id");
+        }
+
+        @Test
+        void tasksByPriorityUsePriorityIndex() throws Exception {
+            taskRepository.findTasksByPriorityValue(2);
+            assertLastQueryUses("idx_tasks_priority_created_at_id");
+        }
+
+        @Test
+        void priorityTasksToCompleteUseOpenTaskIndex() throws Exception {
+            taskRepository.findPriorityTasksToComplete(2, 10);
+            assertLastQueryUses(priorityToCompleteIndex);
+        }
+
+        @Test
+        void overdueTasksUseOpenTaskIndex() throws Exception {
+            taskRepository.findOverdueTasks(DATE);
+            assertLastQueryUses(overdueIndex);
+        }
+
+        private void assertLastQueryUses(String index) throws Exception {
+            String sql = sqlCapture.lastQuery();
+            String plan = explain(sql);
+            assertTrue(plan.toLowerCase().contains(index), () -> "Expected " + index + " in plan of\n" + sql + "\n" + plan);
+        }
+    }
+
+    // Records every statement Hibernate sends
+    @TestConfiguration
+    static class SqlCapture implements StatementInspector {
+
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspector() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        String lastQuery() {
+            List<String> queries = new ArrayList<>(statements);
+            statements.clear();
+            assertFalse(queries.isEmpty(), "No statement was sent");
+            return queries.getLast();
+        }
+    }
+
+}
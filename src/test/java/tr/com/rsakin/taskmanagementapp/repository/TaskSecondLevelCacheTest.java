@@ -0,0 +1,96 @@
+package tr.com.rsakin.taskmanagementapp.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tr.com.rsakin.taskmanagementapp.config.SecondLevelCacheConfig;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+import tr.com.rsakin.taskmanagementapp.service.TaskCacheInvalidator;
+import tr.com.rsakin.taskmanagementapp.service.TaskSearchIndex;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: entries written by an open transaction are soft-locked and never served from the cache,
+// so every repository call here commits on its own, like separate requests would
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({SecondLevelCacheConfig.class, TaskCacheInvalidator.class, TaskSearchIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskSecondLevelCacheTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCacheInvalidator taskCacheInvalidator;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        task = taskRepository.save(Task.builder().title("Cached").description("Description").build());
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromSecondLevelCache() {
+        taskRepository.findById(task.getId());
+        taskRepository.findById(task.getId());
+
+        assertTrue(entityManagerFactory.getCache().contains(Task.class, task.getId()));
+        assertEquals(1, statistics.getSecondLevelCacheMissCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void shouldServeRepeatedStatusListsFromQueryCache() {
+        taskRepository.findByStatus(Task.TaskStatus.PENDING);
+        taskRepository.findByStatus(Task.TaskStatus.PENDING);
+
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(1, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    void shouldEvictTaskAndCachedListsOnWritesHibernateDoesNotSee() {
+        taskRepository.findById(task.getId());
+        taskRepository.findByStatus(Task.TaskStatus.PENDING);
+
+        taskCacheInvalidator.taskChanged(task.getId());
+        assertFalse(entityManagerFactory.getCache().contains(Task.class, task.getId()));
+        taskRepository.findByStatus(Task.TaskStatus.PENDING);
+
+        assertEquals(0, statistics.getQueryCacheHitCount());
+        assertEquals(2, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    void shouldNotFillCacheFromFullTableScans() {
+        taskSearchIndex.seed();
+
+        assertEquals(1, taskSearchIndex.size());
+        assertFalse(entityManagerFactory.getCache().contains(Task.class, task.getId()));
+    }
+
+}
@@ -0,0 +1,91 @@
+package tr.com.rsakin.taskmanagementapp.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import tr.com.rsakin.taskmanagementapp.model.entity.AppUser;
+import tr.com.rsakin.taskmanagementapp.repository.AppUserRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    private static final String PASSWORD_HASH = "$2a$10$hlUxCV3otqCVqznQ.KIoe.1WR4CaIMVkHMBmW6UhgJOpMQ9vSgW4u";
+
+    @Mock
+    private AppUserRepository appUserRepository;
+
+    private CustomUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        UserStoreProperties properties = new UserStoreProperties(
+                List.of(), new UserStoreProperties.UserCache(Duration.ofMinutes(5), 100));
+        userDetailsService = new CustomUserDetailsService(appUserRepository, properties);
+    }
+
+    @Test
+    void shouldLoadStoredHashAndServeRepeatedLookupsFromCache() {
+        when(appUserRepository.findById("user")).thenReturn(Optional.of(user()));
+
+        UserDetails first = userDetailsService.loadUserByUsername("user");
+        UserDetails second = userDetailsService.loadUserByUsername("user");
+
+        assertEquals(PASSWORD_HASH, first.getPassword());
+        assertEquals("ROLE_USER", first.getAuthorities().iterator().next().getAuthority());
+        assertEquals(first, second);
+        verify(appUserRepository, times(1)).findById("user");
+    }
+
+    @Test
+    void shouldNotLeakErasedCredentialsIntoCache() {
+        when(appUserRepository.findById("user")).thenReturn(Optional.of(user()));
+
+        UserDetails first = userDetailsService.loadUserByUsername("user");
+        ((CredentialsContainer) first).eraseCredentials();
+
+        assertEquals(PASSWORD_HASH, userDetailsService.loadUserByUsername("user").getPassword());
+    }
+
+    @Test
+    void shouldReloadAfterEviction() {
+        when(appUserRepository.findById("user")).thenReturn(Optional.of(user()));
+
+        userDetailsService.loadUserByUsername("user");
+        userDetailsService.evict("user");
+        userDetailsService.loadUserByUsername("user");
+
+        verify(appUserRepository, times(2)).findById("user");
+    }
+
+    @Test
+    void shouldThrowForUnknownUserWithoutCachingTheMiss() {
+        when(appUserRepository.findById("ghost")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("ghost"));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("ghost"));
+
+        verify(appUserRepository, times(2)).findById("ghost");
+    }
+
+    private AppUser user() {
+        return AppUser.builder()
+                .username("user")
+                .passwordHash(PASSWORD_HASH)
+                .roles("USER")
+                .enabled(true)
+                .build();
+    }
+
+}
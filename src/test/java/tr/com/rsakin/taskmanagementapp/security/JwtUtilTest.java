@@ -0,0 +1,62 @@
+package tr.com.rsakin.taskmanagementapp.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final JwtUtil jwtUtil = new JwtUtil(meterRegistry);
+
+    private final UserDetails user = User.withUsername("user").password("ignored").roles("USER").build();
+
+    @Test
+    void shouldGenerateAndValidateToken() {
+        String token = jwtUtil.generateToken(user);
+
+        assertEquals("user", jwtUtil.extractUsername(token));
+        assertTrue(jwtUtil.validateToken(token, user));
+        assertFalse(jwtUtil.validateToken(token, User.withUsername("other").password("ignored").build()));
+    }
+
+    @Test
+    void shouldServeRepeatedTokensFromVerifiedClaimsCache() {
+        String token = jwtUtil.generateToken(user);
+
+        Claims first = jwtUtil.extractAllClaims(token);
+        Claims second = jwtUtil.extractAllClaims(token);
+
+        assertSame(first, second);
+        assertEquals(1, meterRegistry.timer("jwt.validation", "result", "verified").count());
+        assertEquals(1, meterRegistry.timer("jwt.validation", "result", "cached").count());
+    }
+
+    @Test
+    void shouldBuildPrincipalFromRolesClaim() {
+        String token = jwtUtil.generateToken(user);
+
+        UserDetails principal = jwtUtil.extractUserDetails(jwtUtil.extractAllClaims(token));
+
+        assertEquals("user", principal.getUsername());
+        assertEquals(user.getAuthorities(), principal.getAuthorities());
+    }
+
+    @Test
+    void shouldRejectTamperedToken() {
+        String token = jwtUtil.generateToken(user);
+        jwtUtil.extractAllClaims(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtil.extractAllClaims(tampered));
+        assertEquals(1, meterRegistry.timer("jwt.validation", "result", "rejected").count());
+    }
+
+}
@@ -0,0 +1,68 @@
+package tr.com.rsakin.taskmanagementapp.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordVerificationExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PasswordVerificationExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new PasswordVerificationExecutor(new LoginExecutorProperties(1, 1, 1), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void shouldRunVerificationOffTheCallingThreadAndRecordLatency() throws Exception {
+        String thread = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+        assertTrue(thread.startsWith("login-verify-"));
+        assertEquals(1, meterRegistry.get("auth.login.verification").timer().count());
+    }
+
+    @Test
+    void shouldRejectWhenPoolAndQueueAreFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = executor.submit(() -> {
+            started.countDown();
+            return await(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = executor.submit(() -> true);
+
+        assertThrows(RejectedExecutionException.class, () -> executor.submit(() -> true));
+        assertEquals(1, meterRegistry.get("auth.login.queue.size").gauge().value());
+        assertEquals(1, meterRegistry.get("auth.login.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+package tr.com.rsakin.taskmanagementapp.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+import tr.com.rsakin.taskmanagementapp.model.exception.TaskVersionConflictException;
+import tr.com.rsakin.taskmanagementapp.repository.ReactiveTaskRepository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTaskServiceTest {
+
+    @Mock
+    private ReactiveTaskRepository taskRepository;
+
+    @Mock
+    private TaskCounters taskCounters;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskCacheInvalidator taskCacheInvalidator;
+
+    @Mock
+    private TaskEventBus taskEventBus;
+
+    @InjectMocks
+    private ReactiveTaskService taskService;
+
+    @Test
+    void shouldInsertNewTask() {
+        when(taskRepository.insert(any(Task.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(taskService.createTask("Test Task", "Description"))
+                .expectNextMatches(task -> task.getTitle().equals("Test Task") && task.getStatus() == Task.TaskStatus.PENDING)
+                .verifyComplete();
+        verify(taskCounters).recordCreated(any(Task.class));
+        verify(taskSearchIndex).add(any(Task.class));
+    }
+
+    @Test
+    void shouldRejectEmptyTitle() {
+        StepVerifier.create(taskService.createTask(" ", "Description"))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void shouldRetryStatusUpdateWhenStatusChangedConcurrently() {
+        UUID id = UUID.randomUUID();
+        Task pending = new Task(id, "Task", "Description", Task.TaskStatus.PENDING, LocalDateTime.now(), LocalDateTime.now(), 1, "Low", 0L);
+        Task inProgress = pending.updateStatus(Task.TaskStatus.IN_PROGRESS);
+        when(taskRepository.findById(id)).thenReturn(Mono.just(pending), Mono.just(inProgress));
+        when(taskRepository.updateStatus(any(Task.class), eq(Task.TaskStatus.PENDING))).thenReturn(Mono.just(0L));
+        when(taskRepository.updateStatus(any(Task.class), eq(Task.TaskStatus.IN_PROGRESS))).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(taskService.updateTaskStatus(id, Task.TaskStatus.COMPLETED))
+                .expectNextMatches(task -> task.getStatus() == Task.TaskStatus.COMPLETED)
+                .verifyComplete();
+        verify(taskCounters).recordStatusChange(Task.TaskStatus.IN_PROGRESS, Task.TaskStatus.COMPLETED);
+        verify(taskCacheInvalidator, times(1)).taskChanged(id);
+        verify(taskEventBus).publish(argThat(event -> event.isCompletion() && event.previousStatus() == Task.TaskStatus.IN_PROGRESS));
+    }
+
+    @Test
+    void shouldReportConflictWhenStatusKeepsChangingConcurrently() {
+        UUID id = UUID.randomUUID();
+        Task pending = new Task(id, "Task", "Description", Task.TaskStatus.PENDING, LocalDateTime.now(), LocalDateTime.now(), 1, "Low", 0L);
+        when(taskRepository.findById(id)).thenReturn(Mono.just(pending));
+        when(taskRepository.updateStatus(any(Task.class), eq(Task.TaskStatus.PENDING))).thenReturn(Mono.just(0L));
+
+        StepVerifier.create(taskService.updateTaskStatus(id, Task.TaskStatus.COMPLETED))
+                .expectError(TaskVersionConflictException.class)
+                .verify();
+        verifyNoInteractions(taskEventBus);
+    }
+
+    @Test
+    void shouldFailStatusUpdateForUnknownTask() {
+        UUID id = UUID.randomUUID();
+        when(taskRepository.findById(id)).thenReturn(Mono.empty());
+
+        StepVerifier.create(taskService.updateTaskStatus(id, Task.TaskStatus.COMPLETED))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+}
@@ -0,0 +1,154 @@
+package tr.com.rsakin.taskmanagementapp.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import tr.com.rsakin.taskmanagementapp.config.TaskChangeFeedProperties;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+import tr.com.rsakin.taskmanagementapp.repository.ReactiveTaskRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Changes are appended directly, as the TaskEventBus consumer thread would, so every step is synchronous
+class TaskChangeFeedTest {
+
+    private final ReactiveTaskRepository taskRepository = mock(ReactiveTaskRepository.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldSendSnapshotThenLiveChanges() {
+        TaskChangeFeed feed = feed(8, 4, TaskChangeFeed.SlowSubscriberPolicy.LATEST);
+        Task existing = task();
+        Task created = task();
+        when(taskRepository.findAll()).thenReturn(Flux.just(existing));
+
+        StepVerifier.create(feed.changes(null))
+                .expectNextMatches(change -> change.kind() == TaskChange.Kind.SNAPSHOT && change.task() == existing)
+                .expectNextMatches(change -> change.kind() == TaskChange.Kind.SNAPSHOT_END && change.id() != null)
+                .then(() -> feed.append(TaskEvent.created(created)))
+                .expectNextMatches(change -> change.kind() == TaskChange.Kind.CREATED && change.task() == created)
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+        assertEquals(0, meterRegistry.get("task.feed.subscribers").gauge().value());
+    }
+
+    @Test
+    void shouldShareOneStreamBetweenClients() {
+        TaskChangeFeed feed = feed(8, 4, TaskChangeFeed.SlowSubscriberPolicy.LATEST);
+        when(taskRepository.findAll()).thenReturn(Flux.empty());
+        List<TaskChange> first = new ArrayList<>();
+        List<TaskChange> second = new ArrayList<>();
+        var firstSubscription = feed.changes(null).subscribe(first::add);
+        var secondSubscription = feed.changes(null).subscribe(second::add);
+
+        feed.append(TaskEvent.created(task()));
+
+        assertEquals(List.of(TaskChange.Kind.SNAPSHOT_END, TaskChange.Kind.CREATED), kinds(first));
+        assertEquals(first, second);
+        assertEquals(2, meterRegistry.get("task.feed.subscribers").gauge().value());
+        firstSubscription.dispose();
+        secondSubscription.dispose();
+    }
+
+    @Test
+    void shouldResumeAfterLastEventIdWithoutSnapshot() {
+        TaskChangeFeed feed = feed(8, 4, TaskChangeFeed.SlowSubscriberPolicy.LATEST);
+        when(taskRepository.findAll()).thenReturn(Flux.empty());
+        Task task = task();
+        List<TaskChange> seen = new ArrayList<>();
+        var subscription = feed.changes(null).subscribe(seen::add);
+        feed.append(TaskEvent.created(task));
+        subscription.dispose();
+
+        // Missed while disconnected
+        feed.append(TaskEvent.statusChanged(task.updateStatus(Task.TaskStatus.IN_PROGRESS), Task.TaskStatus.PENDING));
+        feed.append(TaskEvent.deleted(task));
+
+        StepVerifier.create(feed.changes(seen.getLast().id()))
+                .expectNextMatches(change -> change.kind() == TaskChange.Kind.STATUS_CHANGED)
+                .expectNextMatches(change -> change.kind() == TaskChange.Kind.DELETED)
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+        verify(taskRepository, times(1)).findAll();
+        assertEquals(1, meterRegistry.get("task.feed.connections").tag("start", "resume").counter().count());
+    }
+
+    @Test
+    void shouldFallBackToSnapshotWhenHistoryNoLongerReachesLastEventId() {
+        TaskChangeFeed feed = feed(2, 4, TaskChangeFeed.SlowSubscriberPolicy.LATEST);
+        when(taskRepository.findAll()).thenReturn(Flux.empty());
+        List<TaskChange> seen = new ArrayList<>();
+        feed.changes(null).subscribe(seen::add).dispose();
+        String snapshotEndId = seen.getFirst().id();
+        for (int i = 0; i < 3; i++) {
+            feed.append(TaskEvent.created(task()));
+        }
+
+        for (String lastEventId : List.of(snapshotEndId, "0-1", "garbage")) {
+            StepVerifier.create(feed.changes(lastEventId))
+                    .expectNextMatches(change -> change.kind() == TaskChange.Kind.SNAPSHOT_END)
+                    .thenCancel()
+                    .verify(Duration.ofSeconds(1));
+        }
+        assertEquals(4, meterRegistry.get("task.feed.connections").tag("start", "snapshot").counter().count());
+    }
+
+    @Test
+    void shouldKeepLatestChangesForSlowClient() {
+        TaskChangeFeed feed = feed(8, 2, TaskChangeFeed.SlowSubscriberPolicy.LATEST);
+        when(taskRepository.findAll()).thenReturn(Flux.empty());
+        List<Task> tasks = List.of(task(), task(), task(), task());
+
+        StepVerifier.create(feed.changes(null), 1)
+                .expectNextMatches(change -> change.kind() == TaskChange.Kind.SNAPSHOT_END)
+                .then(() -> tasks.forEach(task -> feed.append(TaskEvent.created(task))))
+                .thenRequest(2)
+                // The change next in line, then the latest one
+                .expectNextMatches(change -> change.task() == tasks.get(0))
+                .expectNextMatches(change -> change.task() == tasks.get(3))
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+        assertEquals(2, meterRegistry.counter("task.feed.dropped").count());
+    }
+
+    @Test
+    void shouldDropNewChangesForSlowClient() {
+        TaskChangeFeed feed = feed(8, 2, TaskChangeFeed.SlowSubscriberPolicy.DROP);
+        when(taskRepository.findAll()).thenReturn(Flux.empty());
+        List<Task> tasks = List.of(task(), task(), task(), task());
+
+        StepVerifier.create(feed.changes(null), 1)
+                .expectNextMatches(change -> change.kind() == TaskChange.Kind.SNAPSHOT_END)
+                .then(() -> tasks.forEach(task -> feed.append(TaskEvent.created(task))))
+                .thenRequest(2)
+                .expectNextMatches(change -> change.task() == tasks.get(0))
+                .expectNextMatches(change -> change.task() == tasks.get(1))
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+        assertEquals(2, meterRegistry.counter("task.feed.dropped").count());
+    }
+
+    private TaskChangeFeed feed(int historySize, int subscriberBufferSize, TaskChangeFeed.SlowSubscriberPolicy policy) {
+        return new TaskChangeFeed(
+                taskRepository,
+                mock(TaskEventBus.class),
+                new TaskChangeFeedProperties(historySize, subscriberBufferSize, policy, Duration.ofHours(1)),
+                meterRegistry);
+    }
+
+    private static List<TaskChange.Kind> kinds(List<TaskChange> changes) {
+        return changes.stream().map(TaskChange::kind).toList();
+    }
+
+    private static Task task() {
+        return Task.builder().title("Task").description("Description").build();
+    }
+
+}
@@ -0,0 +1,86 @@
+package tr.com.rsakin.taskmanagementapp.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskStatistics;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+import tr.com.rsakin.taskmanagementapp.repository.TaskRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskCountersTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private TaskCounters taskCounters;
+
+    @Test
+    void shouldSeedFromDatabaseOnceAndServeReadsFromMemory() {
+        stubDatabaseCounts(3, 2, 1, 4);
+
+        TaskStatistics statistics = taskCounters.snapshot();
+        taskCounters.snapshot();
+
+        assertEquals(new TaskStatistics(10, 3, 2, 1, 4), statistics);
+        assertEquals(7, taskCounters.countByPriority(1));
+        verify(taskRepository, times(1)).getTaskStatusStatistics();
+        verify(taskRepository, never()).count();
+    }
+
+    @Test
+    void shouldTrackCreateStatusChangeAndDelete() {
+        stubDatabaseCounts(0, 0, 0, 0);
+        taskCounters.reconcile();
+        Task task = Task.builder().title("Task").description("Description").build();
+
+        taskCounters.recordCreated(task);
+        taskCounters.recordStatusChange(Task.TaskStatus.PENDING, Task.TaskStatus.BLOCKED);
+
+        assertEquals(new TaskStatistics(1, 0, 0, 1, 0), taskCounters.snapshot());
+        assertEquals(1, taskCounters.countByPriority(3));
+        assertEquals(0, taskCounters.countByPriority(1));
+
+        taskCounters.recordDeleted(task.updateStatus(Task.TaskStatus.BLOCKED));
+
+        assertEquals(new TaskStatistics(0, 0, 0, 0, 0), taskCounters.snapshot());
+    }
+
+    @Test
+    void shouldCorrectDriftOnReconcile() {
+        stubDatabaseCounts(1, 0, 0, 0);
+        taskCounters.reconcile();
+        taskCounters.recordCreated(Task.builder().title("Task").description("Description").build());
+        assertEquals(2, taskCounters.countByStatus(Task.TaskStatus.PENDING));
+
+        // The create was rolled back or never committed; the database is the source of truth
+        taskCounters.reconcile();
+
+        assertEquals(1, taskCounters.countByStatus(Task.TaskStatus.PENDING));
+        assertEquals(1, taskCounters.countByPriority(1));
+    }
+
+    private void stubDatabaseCounts(long pending, long inProgress, long blocked, long completed) {
+        List<Object[]> statusRows = new ArrayList<>();
+        statusRows.add(new Object[]{"PENDING", pending, null, null});
+        statusRows.add(new Object[]{"IN_PROGRESS", inProgress, null, null});
+        statusRows.add(new Object[]{"BLOCKED", blocked, null, null});
+        statusRows.add(new Object[]{"COMPLETED", completed, null, null});
+        List<Object[]> priorityRows = new ArrayList<>();
+        priorityRows.add(new Object[]{1, pending + completed});
+        priorityRows.add(new Object[]{2, inProgress});
+        priorityRows.add(new Object[]{3, blocked});
+        when(taskRepository.getTaskStatusStatistics()).thenReturn(statusRows);
+        when(taskRepository.countByPriorityValue()).thenReturn(priorityRows);
+    }
+
+}
@@ -0,0 +1,188 @@
+package tr.com.rsakin.taskmanagementapp.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tr.com.rsakin.taskmanagementapp.config.TaskEventProperties;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskEventBusTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BlockingQueue<TaskEvent> received = new LinkedBlockingQueue<>();
+    private TaskEventBus taskEventBus;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        taskEventBus.destroy();
+    }
+
+    @Test
+    void shouldDispatchOnlyAfterCommit() throws InterruptedException {
+        taskEventBus = bus(8, TaskEventBus.OverflowPolicy.BLOCK);
+        taskEventBus.subscribe(received::add);
+        Task committed = task();
+        Task rolledBack = task();
+
+        TransactionSynchronizationManager.initSynchronization();
+        taskEventBus.publish(TaskEvent.created(committed));
+        assertNull(received.poll(50, TimeUnit.MILLISECONDS));
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        TransactionSynchronizationManager.initSynchronization();
+        taskEventBus.publish(TaskEvent.created(rolledBack));
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertSame(committed, received.poll(1, TimeUnit.SECONDS).task());
+        assertNull(received.poll(50, TimeUnit.MILLISECONDS));
+        assertEquals(1, meterRegistry.timer("task.events.lag").count());
+    }
+
+    @Test
+    void shouldKeepDispatchingToOtherSubscribersWhenOneFails() throws InterruptedException {
+        taskEventBus = bus(8, TaskEventBus.OverflowPolicy.BLOCK);
+        taskEventBus.subscribe(event -> {
+            throw new IllegalStateException("Broken subscriber");
+        });
+        taskEventBus.subscribe(received::add);
+
+        taskEventBus.publish(TaskEvent.created(task()));
+
+        assertNotNull(received.poll(1, TimeUnit.SECONDS));
+        assertEquals(1, meterRegistry.counter("task.events.subscriber.failures").count());
+    }
+
+    @Test
+    void shouldDropEventsWhenBufferIsFull() throws InterruptedException {
+        taskEventBus = bus(2, TaskEventBus.OverflowPolicy.DROP);
+        CountDownLatch release = blockConsumer();
+
+        for (int i = 0; i < 5; i++) {
+            taskEventBus.publish(TaskEvent.created(task()));
+        }
+
+        assertEquals(2, taskEventBus.queueSize());
+        assertEquals(3, meterRegistry.counter("task.events.dropped").count());
+        release.countDown();
+    }
+
+    @Test
+    void shouldCoalesceWaitingEventsOfTheSameTaskWhenFull() throws InterruptedException {
+        taskEventBus = bus(2, TaskEventBus.OverflowPolicy.COALESCE);
+        CountDownLatch release = blockConsumer();
+        Task other = task();
+        Task task = task();
+
+        taskEventBus.publish(TaskEvent.created(other));
+        taskEventBus.publish(TaskEvent.statusChanged(task.updateStatus(Task.TaskStatus.IN_PROGRESS), Task.TaskStatus.PENDING));
+        taskEventBus.publish(TaskEvent.statusChanged(task.updateStatus(Task.TaskStatus.BLOCKED), Task.TaskStatus.IN_PROGRESS));
+        // A completion is not merged into a change that is not one, and the buffer is full
+        taskEventBus.publish(TaskEvent.statusChanged(task.updateStatus(Task.TaskStatus.COMPLETED), Task.TaskStatus.BLOCKED));
+        taskEventBus.publish(TaskEvent.deleted(task));
+        assertEquals(2, taskEventBus.queueSize());
+        release.countDown();
+
+        List<TaskEvent> events = List.of(received.poll(1, TimeUnit.SECONDS), received.poll(1, TimeUnit.SECONDS));
+        assertSame(other, events.get(0).task());
+        // One transition from the first previous status to the latest merged state
+        assertEquals(Task.TaskStatus.BLOCKED, events.get(1).task().getStatus());
+        assertEquals(Task.TaskStatus.PENDING, events.get(1).previousStatus());
+        assertEquals(1, meterRegistry.counter("task.events.coalesced").count());
+        assertEquals(2, meterRegistry.counter("task.events.dropped").count());
+    }
+
+    @Test
+    void shouldKeepCompletionWhenStatusMovesOnWhileWaiting() throws InterruptedException {
+        taskEventBus = bus(4, TaskEventBus.OverflowPolicy.COALESCE);
+        BlockingQueue<Task> completed = new LinkedBlockingQueue<>();
+        // The filter of TaskService.addTaskCompletionListener
+        taskEventBus.subscribe(event -> {
+            if (event.isCompletion()) {
+                completed.add(event.task());
+            }
+        });
+        CountDownLatch release = blockConsumer();
+        Task task = task();
+
+        taskEventBus.publish(TaskEvent.statusChanged(task.updateStatus(Task.TaskStatus.COMPLETED), Task.TaskStatus.PENDING));
+        taskEventBus.publish(TaskEvent.statusChanged(task.updateStatus(Task.TaskStatus.IN_PROGRESS), Task.TaskStatus.COMPLETED));
+        assertEquals(2, taskEventBus.queueSize());
+        release.countDown();
+
+        assertEquals(Task.TaskStatus.COMPLETED, completed.poll(1, TimeUnit.SECONDS).getStatus());
+        assertEquals(Task.TaskStatus.COMPLETED, received.poll(1, TimeUnit.SECONDS).task().getStatus());
+        assertEquals(Task.TaskStatus.IN_PROGRESS, received.poll(1, TimeUnit.SECONDS).task().getStatus());
+        assertEquals(0, meterRegistry.counter("task.events.coalesced").count());
+    }
+
+    @Test
+    void shouldDropAfterBlockTimeoutWhenConsumersFallBehind() throws InterruptedException {
+        taskEventBus = bus(1, TaskEventBus.OverflowPolicy.BLOCK);
+        CountDownLatch release = blockConsumer();
+
+        taskEventBus.publish(TaskEvent.created(task()));
+        long start = System.nanoTime();
+        taskEventBus.publish(TaskEvent.created(task()));
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(1, meterRegistry.counter("task.events.dropped").count());
+        release.countDown();
+    }
+
+    private TaskEventBus bus(int bufferSize, TaskEventBus.OverflowPolicy overflowPolicy) {
+        return new TaskEventBus(
+                new TaskEventProperties(bufferSize, 1, overflowPolicy, Duration.ofMillis(100), Duration.ofSeconds(1)),
+                meterRegistry);
+    }
+
+    // Parks the only consumer thread inside a subscriber until released, so published events stay in the buffer
+    private CountDownLatch blockConsumer() throws InterruptedException {
+        CountDownLatch consumerBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Task marker = task();
+        taskEventBus.subscribe(event -> {
+            if (event.task() == marker) {
+                consumerBlocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            } else {
+                received.add(event);
+            }
+        });
+        taskEventBus.publish(TaskEvent.created(marker));
+        assertTrue(consumerBlocked.await(1, TimeUnit.SECONDS));
+        return release;
+    }
+
+    private static void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static Task task() {
+        return Task.builder().title("Task").description("Description").build();
+    }
+
+}
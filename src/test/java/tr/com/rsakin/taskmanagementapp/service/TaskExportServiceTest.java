@@ -0,0 +1,87 @@
+package tr.com.rsakin.taskmanagementapp.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+import tr.com.rsakin.taskmanagementapp.repository.TaskRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskExportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private TaskExportService taskExportService;
+
+    private Task first;
+    private Task second;
+
+    @BeforeEach
+    void setUp() {
+        taskExportService = new TaskExportService(taskRepository, entityManager, objectMapper);
+        LocalDateTime now = LocalDateTime.now();
+        first = new Task(UUID.randomUUID(), "Task 1", "Plain", Task.TaskStatus.PENDING, now, now, 1, "Low", 0L);
+        second = new Task(UUID.randomUUID(), "Task, \"2\"", "Line\nbreak", Task.TaskStatus.BLOCKED, now, now, 3, "High", 0L);
+    }
+
+    @Test
+    void shouldExportOneJsonDocumentPerLineAndDetachEachTask() throws Exception {
+        when(taskRepository.streamAll()).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = taskExportService.exportTasks(TaskExportService.ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, exported);
+        assertEquals(2, lines.length);
+        JsonNode secondLine = objectMapper.readTree(lines[1]);
+        assertEquals(second.getId().toString(), secondLine.get("id").asText());
+        assertEquals("Line\nbreak", secondLine.get("description").asText());
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    void shouldExportCsvWithHeaderAndQuotedFields() throws Exception {
+        when(taskRepository.streamAll()).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = taskExportService.exportTasks(TaskExportService.ExportFormat.CSV, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertEquals(2, exported);
+        assertTrue(csv.startsWith("id,title,description,status,createdAt,priorityValue,priorityLabel\n"));
+        assertTrue(csv.contains(first.getId() + ",Task 1,Plain,PENDING,"));
+        assertTrue(csv.contains(second.getId() + ",\"Task, \"\"2\"\"\",\"Line\nbreak\",BLOCKED,"));
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() {
+        assertThrows(IllegalArgumentException.class, () -> TaskExportService.ExportFormat.fromParameter("xml"));
+        assertEquals(TaskExportService.ExportFormat.CSV, TaskExportService.ExportFormat.fromParameter("csv"));
+    }
+
+}
@@ -0,0 +1,141 @@
+package tr.com.rsakin.taskmanagementapp.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import tr.com.rsakin.taskmanagementapp.model.dto.request.SearchCursor;
+import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+import tr.com.rsakin.taskmanagementapp.repository.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchIndexTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskSearchIndex taskSearchIndex;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        taskSearchIndex = new TaskSearchIndex(taskRepository, entityManager, transactionManager);
+    }
+
+    @Test
+    void shouldRankWholeWordTitleMatchesFirst() {
+        Task inDescription = task("Write notes", "Deploy checklist", 0);
+        Task titlePrefix = task("Deployment plan", "Steps", 1);
+        Task titleWord = task("Deploy the app", "Friday", 2);
+        seed(inDescription, titlePrefix, titleWord, task("Unrelated", "Nothing here", 3));
+
+        assertEquals(List.of(titleWord.getId(), titlePrefix.getId(), inDescription.getId()), ids(search("deploy", 10)));
+    }
+
+    @Test
+    void shouldMatchSubstringsAndWordPrefixes() {
+        Task task = task("Refactor billing", "Quarterly invoices", 0);
+        seed(task, task("Banana bread", "Oven", 1));
+
+        assertEquals(List.of(task.getId()), ids(search("actor", 10)));
+        assertEquals(List.of(task.getId()), ids(search("INVOICE bill", 10)));
+        assertEquals(List.of(task.getId()), ids(search("qu", 10)));
+        // Shorter than a trigram: only at the start of a word
+        assertTrue(search("il", 10).isEmpty());
+        // Every word has to match
+        assertTrue(search("billing payroll", 10).isEmpty());
+        // Every trigram of "bananana" is in "banana", the word itself is not
+        assertTrue(search("bananana", 10).isEmpty());
+    }
+
+    @Test
+    void shouldPageThroughHitsWithCursor() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tasks.add(task("Report " + i, "Weekly", i));
+        }
+        seed(tasks.toArray(Task[]::new));
+
+        List<TaskSearchIndex.Hit> firstPage = search("report", 3);
+        SearchCursor cursor = SearchCursor.decode(firstPage.getLast().toCursor().encode());
+        List<TaskSearchIndex.Hit> secondPage = taskSearchIndex.search("report", false, cursor, 3);
+
+        // Same score, newest first
+        assertEquals(List.of(tasks.get(4).getId(), tasks.get(3).getId(), tasks.get(2).getId()), ids(firstPage));
+        assertEquals(List.of(tasks.get(1).getId(), tasks.get(0).getId()), ids(secondPage));
+    }
+
+    @Test
+    void shouldReflectAddsAndRemovalsAcrossCompaction() {
+        seed();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Task task = task("Invoice " + i, "Billing", i);
+            tasks.add(task);
+            taskSearchIndex.add(task);
+        }
+
+        // Removing three of eight triggers a compaction that renumbers the rest
+        for (int i = 0; i < 3; i++) {
+            taskSearchIndex.remove(tasks.get(i).getId());
+        }
+
+        assertEquals(5, taskSearchIndex.size());
+        assertEquals(tasks.subList(3, 8).reversed().stream().map(Task::getId).toList(), ids(search("invoice", 10)));
+        assertTrue(search("invoice 1", 10).isEmpty());
+    }
+
+    @Test
+    void shouldRestrictTitleOnlySearchToTitles() {
+        Task task = task("Write notes", "Deploy checklist", 0);
+        seed(task);
+
+        assertTrue(taskSearchIndex.search("deploy", true, null, 1).isEmpty());
+        assertEquals(1, taskSearchIndex.search("notes", true, null, 1).size());
+    }
+
+    @Test
+    void shouldRefuseSearchesUntilSeededAndEmptyQueries() {
+        assertThrows(IllegalStateException.class, () -> search("deploy", 10));
+        seed();
+        assertThrows(IllegalArgumentException.class, () -> search(" !? ", 10));
+    }
+
+    private Task task(String title, String description, int minutes) {
+        LocalDateTime createdAt = now.plusMinutes(minutes);
+        return new Task(UUID.randomUUID(), title, description, Task.TaskStatus.PENDING, createdAt, createdAt, 1, "Low", 0L);
+    }
+
+    private void seed(Task... tasks) {
+        when(taskRepository.streamAll()).thenReturn(Stream.of(tasks));
+        taskSearchIndex.seed();
+    }
+
+    private List<TaskSearchIndex.Hit> search(String query, int limit) {
+        return taskSearchIndex.search(query, false, null, limit);
+    }
+
+    private static List<UUID> ids(List<TaskSearchIndex.Hit> hits) {
+        return hits.stream().map(TaskSearchIndex.Hit::id).toList();
+    }
+
+}
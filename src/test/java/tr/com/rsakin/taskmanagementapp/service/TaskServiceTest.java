@@ -6,9 +6,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import tr.com.rsakin.taskmanagementapp.model.dto.request.BulkStatusUpdateRequest;
+import tr.com.rsakin.taskmanagementapp.model.dto.request.SearchCursor;
+import tr.com.rsakin.taskmanagementapp.model.dto.request.TaskCursor;
 import tr.com.rsakin.taskmanagementapp.model.dto.request.TaskRequest;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.BulkStatusUpdateResponse;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.CursorPage;
 import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskResponseDTO;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskStatistics;
+import tr.com.rsakin.taskmanagementapp.model.dto.response.TaskSummaryDTO;
 import tr.com.rsakin.taskmanagementapp.model.entity.Task;
+import tr.com.rsakin.taskmanagementapp.model.exception.TaskVersionConflictException;
+import tr.com.rsakin.taskmanagementapp.outbox.TaskOutbox;
 import tr.com.rsakin.taskmanagementapp.repository.TaskRepository;
 
 import java.time.LocalDateTime;
@@ -26,6 +36,21 @@ class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskCounters taskCounters;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskCacheInvalidator taskCacheInvalidator;
+
+    @Mock
+    private TaskOutbox taskOutbox;
+
+    @Mock
+    private TaskEventBus taskEventBus;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -42,11 +67,71 @@ class TaskServiceTest {
         assertNotNull(createdTask);
         assertEquals("Test Task", createdTask.title());
         verify(taskRepository).save(any(Task.class));
+        verify(taskOutbox).record(argThat(event -> event.type() == TaskEvent.Type.CREATED && event.task() == task));
+        verify(taskEventBus).publish(argThat(event -> event.type() == TaskEvent.Type.CREATED && event.task() == task));
+    }
+
+    @Test
+    void shouldCreateNewTasksInOneBatch() {
+        List<TaskRequest> requests = List.of(new TaskRequest("Task 1", "Description"), new TaskRequest("Task 2", "Description"));
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<TaskResponseDTO> createdTasks = taskService.createTasks(requests);
+
+        assertEquals(2, createdTasks.size());
+        assertEquals("Task 2", createdTasks.get(1).title());
+        verify(taskRepository).saveAll(argThat((List<Task> tasks) -> tasks.stream().allMatch(task -> task.getVersion() == null)));
+        verify(taskCounters, times(2)).recordCreated(any(Task.class));
+    }
+
+    @Test
+    void shouldRejectWholeBatchWhenOneTaskIsInvalid() {
+        List<TaskRequest> requests = List.of(new TaskRequest("Task 1", "Description"), new TaskRequest(" ", "Description"));
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.createTasks(requests));
+
+        verify(taskRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void shouldTransitionMatchingTasksWithOneUpdatePerChunk() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        List<Object[]> candidates = List.of(
+                new Object[]{first, Task.TaskStatus.PENDING},
+                new Object[]{second, Task.TaskStatus.IN_PROGRESS});
+        when(taskRepository.lockTransitionCandidatesByIds(anyList(), isNull(), isNull(), eq(Task.TaskStatus.COMPLETED)))
+                .thenReturn(candidates);
+        when(taskRepository.findAllById(anyCollection())).thenReturn(List.of(
+                new Task(first, "Task 1", "Description", Task.TaskStatus.COMPLETED, LocalDateTime.now(), LocalDateTime.now(), 1, "Low", 1L),
+                new Task(second, "Task 2", "Description", Task.TaskStatus.COMPLETED, LocalDateTime.now(), LocalDateTime.now(), 1, "Low", 1L)));
+
+        BulkStatusUpdateResponse response = taskService.updateTasksStatus(
+                new BulkStatusUpdateRequest(List.of(first, second), null, null, Task.TaskStatus.COMPLETED));
+
+        assertEquals(2, response.updatedCount());
+        assertEquals(List.of(first, second), response.updatedIds());
+        verify(taskRepository).updateStatusByIds(anyCollection(), eq(Task.TaskStatus.COMPLETED), eq(1), eq("Low"), any(LocalDateTime.class));
+        verify(taskCounters).recordStatusChange(Task.TaskStatus.PENDING, Task.TaskStatus.COMPLETED);
+        verify(taskCounters).recordStatusChange(Task.TaskStatus.IN_PROGRESS, Task.TaskStatus.COMPLETED);
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskOutbox).recordAll(argThat(events -> events.size() == 2 && events.stream().allMatch(TaskEvent::isCompletion)));
+        verify(taskEventBus).publish(argThat(event -> event.isCompletion() && event.previousStatus() == Task.TaskStatus.PENDING));
+        verify(taskEventBus).publish(argThat(event -> event.isCompletion() && event.previousStatus() == Task.TaskStatus.IN_PROGRESS));
+    }
+
+    @Test
+    void shouldRejectBulkStatusUpdateWithoutFilter() {
+        BulkStatusUpdateRequest request = new BulkStatusUpdateRequest(null, null, null, Task.TaskStatus.COMPLETED);
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.updateTasksStatus(request));
+
+        verifyNoInteractions(taskRepository);
     }
 
     @Test
     void shouldReturnAllTasks() {
-        Task task = new Task(UUID.randomUUID(), "Task 1", "Description", Task.TaskStatus.PENDING, LocalDateTime.now(), LocalDateTime.now(), 1, "Low");
+        Task task = new Task(UUID.randomUUID(), "Task 1", "Description", Task.TaskStatus.PENDING, LocalDateTime.now(), LocalDateTime.now(), 1, "Low", 0L);
         List<Task> tasks = Collections.singletonList(task);
         when(taskRepository.findAll()).thenReturn(tasks);
 
@@ -56,6 +141,18 @@ class TaskServiceTest {
         assertEquals(1, taskResponseDTOList.size());
     }
 
+    @Test
+    void shouldMapPriorityFromStoredValueToSharedInstance() {
+        Task stored = new Task(UUID.randomUUID(), "Task 1", "Description", Task.TaskStatus.IN_PROGRESS, LocalDateTime.now(), LocalDateTime.now(), 2, "Medium", 0L);
+        Task unsaved = Task.builder().title("Task 2").status(Task.TaskStatus.BLOCKED).build();
+        when(taskRepository.findAll()).thenReturn(List.of(stored, unsaved));
+
+        List<TaskResponseDTO> tasks = taskService.getAllTasks();
+
+        assertSame(Task.MediumPriority.INSTANCE, tasks.get(0).priority());
+        assertSame(Task.HighPriority.INSTANCE, tasks.get(1).priority());
+    }
+
     @Test
     void shouldReturnNullWhenTaskNotFoundById() {
         UUID nonExistingId = UUID.randomUUID();
@@ -67,32 +164,56 @@ class TaskServiceTest {
     }
 
     @Test
-    void shouldUpdateTaskStatus() {
+    void shouldUpdateTaskStatusWithSingleConditionalUpdate() {
         UUID taskId = UUID.randomUUID();
-        Task task = new Task(taskId, "Task 1", "Description", Task.TaskStatus.PENDING, LocalDateTime.now(), LocalDateTime.now(), 1, "Low");
-        Task updatedTask = task.updateStatus(Task.TaskStatus.COMPLETED);
-
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenReturn(updatedTask);
+        TaskRepository.StatusTransition transition = transition(taskId, Task.TaskStatus.COMPLETED, Task.TaskStatus.PENDING);
+        when(taskRepository.compareAndSetStatus(eq(taskId), eq(Task.TaskStatus.COMPLETED), eq(1), eq("Low"), any(LocalDateTime.class), eq(TaskRepository.ANY_VERSION)))
+                .thenReturn(Optional.of(transition));
 
         Task savedTask = taskService.updateTaskStatus(taskId, Task.TaskStatus.COMPLETED);
 
         assertNotNull(savedTask);
         assertEquals(Task.TaskStatus.COMPLETED, savedTask.getStatus());
-        verify(taskRepository).save(any(Task.class));
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).save(any(Task.class));
+        // The compare-and-set bypasses Hibernate's cache bookkeeping
+        verify(taskCacheInvalidator).taskChanged(taskId);
     }
 
     @Test
     void shouldThrowExceptionWhenTaskNotFoundForUpdate() {
         UUID nonExistingId = UUID.randomUUID();
+        when(taskRepository.compareAndSetStatus(eq(nonExistingId), any(), anyInt(), any(), any(), anyLong())).thenReturn(Optional.empty());
         when(taskRepository.findById(nonExistingId)).thenReturn(Optional.empty());
 
         assertThrows(IllegalArgumentException.class, () -> taskService.updateTaskStatus(nonExistingId, Task.TaskStatus.COMPLETED));
     }
 
+    @Test
+    void shouldReportVersionConflictWhenTaskChangedConcurrently() {
+        UUID taskId = UUID.randomUUID();
+        Task current = new Task(taskId, "Task 1", "Description", Task.TaskStatus.IN_PROGRESS, LocalDateTime.now(), LocalDateTime.now(), 2, "Medium", 4L);
+        when(taskRepository.compareAndSetStatus(eq(taskId), eq(Task.TaskStatus.COMPLETED), anyInt(), any(), any(), eq(3L))).thenReturn(Optional.empty());
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(current));
+
+        assertThrows(TaskVersionConflictException.class, () -> taskService.updateTaskStatus(taskId, Task.TaskStatus.COMPLETED, 3L));
+
+        verify(taskCounters, never()).recordStatusChange(any(), any());
+    }
+
+    @Test
+    void shouldRejectStatusUpdateOfBlockedTask() {
+        UUID taskId = UUID.randomUUID();
+        Task blocked = new Task(taskId, "Task 1", "Description", Task.TaskStatus.BLOCKED, LocalDateTime.now(), LocalDateTime.now(), 3, "High", 0L);
+        when(taskRepository.compareAndSetStatus(eq(taskId), any(), anyInt(), any(), any(), anyLong())).thenReturn(Optional.empty());
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(blocked));
+
+        assertThrows(TaskStatusNotAvailableException.class, () -> taskService.updateTaskStatus(taskId, Task.TaskStatus.COMPLETED, 0L));
+    }
+
     @Test
     void shouldReturnTasksByStatus() {
-        Task task = new Task(UUID.randomUUID(), "Task 1", "Description", Task.TaskStatus.PENDING, LocalDateTime.now(), LocalDateTime.now(), 1, "Low");
+        Task task = new Task(UUID.randomUUID(), "Task 1", "Description", Task.TaskStatus.PENDING, LocalDateTime.now(), LocalDateTime.now(), 1, "Low", 0L);
         List<Task> tasks = Collections.singletonList(task);
         when(taskRepository.findByStatus(Task.TaskStatus.PENDING)).thenReturn(tasks);
 
@@ -111,4 +232,121 @@ class TaskServiceTest {
         assertTrue(taskResponseDTOList.isEmpty());
     }
 
+    @Test
+    void shouldReturnFirstPageWithNextCursorWhenMoreTasksExist() {
+        LocalDateTime now = LocalDateTime.now();
+        Task newest = new Task(UUID.randomUUID(), "Task 2", "Description", Task.TaskStatus.PENDING, now, now, 1, "Low", 0L);
+        Task older = new Task(UUID.randomUUID(), "Task 1", "Description", Task.TaskStatus.PENDING, now.minusMinutes(1), now, 1, "Low", 0L);
+        when(taskRepository.findAllByOrderByCreatedAtDescIdDesc(Limit.of(2))).thenReturn(List.of(newest, older));
+
+        CursorPage<TaskResponseDTO> page = taskService.getTasksPage(null, 1);
+
+        assertEquals(1, page.items().size());
+        assertEquals(newest.getId(), page.items().get(0).id());
+        assertEquals(TaskCursor.of(newest), TaskCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void shouldSeekPastCursorAndReturnLastPage() {
+        LocalDateTime now = LocalDateTime.now();
+        Task task = new Task(UUID.randomUUID(), "Task 1", "Description", Task.TaskStatus.BLOCKED, now, now, 3, "High", 0L);
+        TaskCursor cursor = new TaskCursor(now.plusMinutes(1), UUID.randomUUID());
+        when(taskRepository.findPageByStatusAfter(Task.TaskStatus.BLOCKED, cursor.createdAt(), cursor.id(), Limit.of(TaskService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(List.of(task));
+
+        CursorPage<TaskResponseDTO> page = taskService.getTasksPageByStatus(Task.TaskStatus.BLOCKED, cursor.encode(), 10_000);
+
+        assertEquals(1, page.items().size());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void shouldPageSummariesWithCursorsOfTheFullPages() {
+        LocalDateTime now = LocalDateTime.now();
+        TaskRepository.TaskSummary newest = new TaskRepository.TaskSummary(UUID.randomUUID(), "Task 2", Task.TaskStatus.IN_PROGRESS, 2, now);
+        TaskRepository.TaskSummary older = new TaskRepository.TaskSummary(UUID.randomUUID(), "Task 1", Task.TaskStatus.PENDING, 1, now.minusMinutes(1));
+        when(taskRepository.findSummariesByStatusOrderByCreatedAtDescIdDesc(Task.TaskStatus.IN_PROGRESS, Limit.of(2)))
+                .thenReturn(List.of(newest, older));
+
+        CursorPage<TaskSummaryDTO> page = taskService.getTaskSummariesPageByStatus(Task.TaskStatus.IN_PROGRESS, null, 1);
+
+        assertEquals(1, page.items().size());
+        assertEquals(newest.id(), page.items().get(0).id());
+        assertEquals("Medium", page.items().get(0).priority().getLabel());
+        assertEquals(TaskCursor.of(now, newest.id()), TaskCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksPage("not-a-cursor", 10));
+    }
+
+    @Test
+    void shouldServeStatisticsFromCounters() {
+        TaskStatistics statistics = new TaskStatistics(3, 1, 1, 0, 1);
+        when(taskCounters.snapshot()).thenReturn(statistics);
+
+        assertEquals(statistics, taskService.getTaskStatistics());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void shouldRecordStatusChangeWithPreviousStatus() {
+        UUID taskId = UUID.randomUUID();
+        TaskRepository.StatusTransition transition = transition(taskId, Task.TaskStatus.IN_PROGRESS, Task.TaskStatus.PENDING);
+        when(taskRepository.compareAndSetStatus(eq(taskId), eq(Task.TaskStatus.IN_PROGRESS), anyInt(), any(), any(), anyLong()))
+                .thenReturn(Optional.of(transition));
+
+        taskService.updateTaskStatus(taskId, Task.TaskStatus.IN_PROGRESS);
+
+        verify(taskCounters).recordStatusChange(Task.TaskStatus.PENDING, Task.TaskStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void shouldRecordDeletedTask() {
+        UUID taskId = UUID.randomUUID();
+        Task task = new Task(taskId, "Task 1", "Description", Task.TaskStatus.PENDING, LocalDateTime.now(), LocalDateTime.now(), 1, "Low", 0L);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
+        taskService.deleteTask(taskId);
+
+        verify(taskRepository).delete(task);
+        verify(taskCounters).recordDeleted(task);
+        verify(taskSearchIndex).remove(taskId);
+    }
+
+    @Test
+    void shouldLoadSearchHitsInRankOrderWithNextCursor() {
+        LocalDateTime now = LocalDateTime.now();
+        Task best = new Task(UUID.randomUUID(), "Deploy", "Description", Task.TaskStatus.PENDING, now, now, 1, "Low", 0L);
+        Task second = new Task(UUID.randomUUID(), "Plan", "Deploy later", Task.TaskStatus.PENDING, now, now, 1, "Low", 0L);
+        TaskSearchIndex.Hit bestHit = new TaskSearchIndex.Hit(best.getId(), 8, now);
+        TaskSearchIndex.Hit secondHit = new TaskSearchIndex.Hit(second.getId(), 4, now);
+        TaskSearchIndex.Hit thirdHit = new TaskSearchIndex.Hit(UUID.randomUUID(), 2, now);
+        when(taskSearchIndex.search("deploy", false, null, 3)).thenReturn(List.of(bestHit, secondHit, thirdHit));
+        when(taskRepository.findAllById(List.of(best.getId(), second.getId()))).thenReturn(List.of(second, best));
+
+        CursorPage<TaskResponseDTO> page = taskService.searchTasks("deploy", null, 2);
+
+        assertEquals(List.of(best.getId(), second.getId()), page.items().stream().map(TaskResponseDTO::id).toList());
+        assertEquals(secondHit.toCursor(), SearchCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void shouldFindTitleWithDatabaseScanUntilSearchIndexIsReady() {
+        Task task = new Task(UUID.randomUUID(), "Deploy", "Description", Task.TaskStatus.PENDING, LocalDateTime.now(), LocalDateTime.now(), 1, "Low", 0L);
+        when(taskSearchIndex.isReady()).thenReturn(false);
+        when(taskRepository.findByTitleContainingIgnoreCase("dep")).thenReturn(List.of(task));
+
+        assertEquals(task.getId(), taskService.findTaskByTitle("dep").orElseThrow().id());
+        verify(taskSearchIndex, never()).search(any(), anyBoolean(), any(), anyInt());
+    }
+
+    private TaskRepository.StatusTransition transition(UUID id, Task.TaskStatus status, Task.TaskStatus previousStatus) {
+        Task.Priority priority = Task.priorityOf(status);
+        Task task = new Task(id, "Task 1", "Description", status, LocalDateTime.now(), LocalDateTime.now(),
+                priority.getValue(), priority.getLabel(), 1L);
+        return new TaskRepository.StatusTransition(task, previousStatus);
+    }
+
 }